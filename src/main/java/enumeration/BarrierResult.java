@@ -0,0 +1,44 @@
+package enumeration;
+
+/**
+ * Enum for the results of the validation of a barrier.
+ * It gives the reason why a barrier is refused, without throwing anything, in the order the rules are checked.
+ */
+public enum BarrierResult {
+    /**
+     * The barrier is valid.
+     */
+    VALID,
+    /**
+     * Every barrier has already been placed.
+     */
+    LIMIT_REACHED,
+    /**
+     * One of the edges is outside the board.
+     */
+    OUT_OF_BOARD,
+    /**
+     * The edges aren't two parallel sides of adjacent cells, so they don't make a 2-long barrier.
+     */
+    NOT_ADJACENT,
+    /**
+     * One of the edges already has a barrier.
+     */
+    OVERLAP,
+    /**
+     * The barrier crosses another barrier in a + shape.
+     */
+    CROSSING,
+    /**
+     * The barrier would cut a player from the side he needs to reach.
+     */
+    CUTS_PATH;
+
+    /**
+     * Checks if the barrier is valid.
+     * @return true for VALID.
+     */
+    public boolean isValid() {
+        return this == VALID;
+    }
+}
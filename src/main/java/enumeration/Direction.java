@@ -8,17 +8,65 @@ public enum Direction {
     /**
      * North direction.
      */
-    NORTH,
+    NORTH(0, -1),
     /**
      * East direction.
      */
-    EAST,
+    EAST(1, 0),
     /**
      * South direction.
      */
-    SOUTH,
+    SOUTH(0, 1),
     /**
      * West direction.
      */
-    WEST
+    WEST(-1, 0);
+
+    /**
+     * Offset on the x coordinate when moving one cell in this direction.
+     */
+    private final int xOffset;
+    /**
+     * Offset on the y coordinate when moving one cell in this direction.
+     */
+    private final int yOffset;
+
+    /**
+     * Constructor of the enum.
+     * @param xOffset offset on the x coordinate.
+     * @param yOffset offset on the y coordinate.
+     */
+    Direction(int xOffset, int yOffset) {
+        this.xOffset = xOffset;
+        this.yOffset = yOffset;
+    }
+
+    /**
+     * Getter for the x offset.
+     * @return the offset on the x coordinate when moving one cell in this direction.
+     */
+    public int getXOffset() {
+        return this.xOffset;
+    }
+
+    /**
+     * Getter for the y offset.
+     * @return the offset on the y coordinate when moving one cell in this direction.
+     */
+    public int getYOffset() {
+        return this.yOffset;
+    }
+
+    /**
+     * Method returning the opposite direction.
+     * @return the opposite direction.
+     */
+    public Direction opposite() {
+        return switch (this) {
+            case NORTH -> SOUTH;
+            case EAST -> WEST;
+            case SOUTH -> NORTH;
+            case WEST -> EAST;
+        };
+    }
 }
@@ -0,0 +1,20 @@
+package enumeration;
+
+/**
+ * Enum for the layouts of the graph representing the board.
+ * The layout decides how the edges are stored in memory.
+ */
+public enum GraphLayout {
+    /**
+     * One LinkedList of Edge objects per cell, as the graph has always been stored.
+     * Every edge is a real object, but every graph allocates its own ones.
+     * A new board never uses it: it is only kept to load the saves of the first versions, whose graph was stored this way.
+     */
+    ADJACENCY_LIST,
+    /**
+     * Compressed sparse rows: the edges of every cell are stored one after the other in arrays of primitives.
+     * The grid itself is shared by every graph of the same size, each graph only keeps its barriers and weights.
+     * It is the layout of every new board, whatever its size.
+     */
+    COMPACT
+}
@@ -0,0 +1,32 @@
+package enumeration;
+
+/**
+ * Enum for the results of the validation of a move of a pawn.
+ * It gives the reason why a move is refused, without throwing anything.
+ */
+public enum MoveResult {
+    /**
+     * The move is valid.
+     */
+    VALID,
+    /**
+     * The destination is outside the board.
+     */
+    OUT_OF_BOARD,
+    /**
+     * Another pawn is on the destination.
+     */
+    OCCUPIED,
+    /**
+     * The destination can't be reached in one move: it is too far, or a barrier is in the way.
+     */
+    UNREACHABLE;
+
+    /**
+     * Checks if the move is valid.
+     * @return true for VALID.
+     */
+    public boolean isValid() {
+        return this == VALID;
+    }
+}
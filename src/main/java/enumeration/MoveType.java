@@ -0,0 +1,16 @@
+package enumeration;
+
+/**
+ * Enum for the types of moves.
+ * On his turn, a player either moves his pawn or places a barrier.
+ */
+public enum MoveType {
+    /**
+     * The player moves his pawn.
+     */
+    PAWN,
+    /**
+     * The player places a barrier.
+     */
+    BARRIER
+}
@@ -0,0 +1,165 @@
+package enumeration;
+
+/**
+ * Enum for the symmetries of the square board: 4 rotations and 4 reflections.
+ * A symmetry moves the cells, the sides of the cells and the goals of the players,
+ * so a colour is mapped to the colour whose side is the image of its side.
+ */
+public enum Symmetry {
+    /**
+     * Nothing changes.
+     */
+    IDENTITY(1, 0, 0, 1),
+    /**
+     * Quarter turn clockwise: the north side goes to the east.
+     */
+    ROTATE_90(0, -1, 1, 0),
+    /**
+     * Half turn.
+     */
+    ROTATE_180(-1, 0, 0, -1),
+    /**
+     * Quarter turn counterclockwise: the north side goes to the west.
+     */
+    ROTATE_270(0, 1, -1, 0),
+    /**
+     * Left-right mirror.
+     */
+    MIRROR_X(-1, 0, 0, 1),
+    /**
+     * Top-bottom mirror.
+     */
+    MIRROR_Y(1, 0, 0, -1),
+    /**
+     * Mirror along the diagonal going from the top left corner to the bottom right one: x and y are swapped.
+     */
+    TRANSPOSE(0, 1, 1, 0),
+    /**
+     * Mirror along the diagonal going from the top right corner to the bottom left one.
+     */
+    ANTI_TRANSPOSE(0, -1, -1, 0);
+
+    /**
+     * Every symmetry, in the order of their ordinal.
+     */
+    private static final Symmetry[] SYMMETRIES = values();
+
+    /**
+     * Coefficients of the matrix of the symmetry, applied to coordinates centered on the middle of the board:
+     * x' = xx*x + xy*y and y' = yx*x + yy*y.
+     */
+    private final int xx;
+    /**
+     * See {@link #xx}.
+     */
+    private final int xy;
+    /**
+     * See {@link #xx}.
+     */
+    private final int yx;
+    /**
+     * See {@link #xx}.
+     */
+    private final int yy;
+
+    /**
+     * Constructor of the enum.
+     * @param xx coefficient of x in the new x.
+     * @param xy coefficient of y in the new x.
+     * @param yx coefficient of x in the new y.
+     * @param yy coefficient of y in the new y.
+     */
+    Symmetry(int xx, int xy, int yx, int yy) {
+        this.xx = xx;
+        this.xy = xy;
+        this.yx = yx;
+        this.yy = yy;
+    }
+
+    /**
+     * Gives the x coordinate of the image of the cell (x,y).
+     * @param x    x coordinate of the cell.
+     * @param y    y coordinate of the cell.
+     * @param size size of the board.
+     * @return the x coordinate of the image.
+     */
+    public int mapX(int x, int y, int size) {
+        // We double the coordinates so that the middle of the board is (0,0) even when the size is even
+        return (this.xx * (2 * x - size + 1) + this.xy * (2 * y - size + 1) + size - 1) / 2;
+    }
+
+    /**
+     * Gives the y coordinate of the image of the cell (x,y).
+     * @param x    x coordinate of the cell.
+     * @param y    y coordinate of the cell.
+     * @param size size of the board.
+     * @return the y coordinate of the image.
+     */
+    public int mapY(int x, int y, int size) {
+        return (this.yx * (2 * x - size + 1) + this.yy * (2 * y - size + 1) + size - 1) / 2;
+    }
+
+    /**
+     * Gives the image of a direction.
+     * @param direction the direction.
+     * @return the direction after the symmetry.
+     */
+    public Direction map(Direction direction) {
+        int xOffset = this.xx * direction.getXOffset() + this.xy * direction.getYOffset();
+        int yOffset = this.yx * direction.getXOffset() + this.yy * direction.getYOffset();
+
+        for (Direction image : Direction.values()) {
+            if (image.getXOffset() == xOffset && image.getYOffset() == yOffset) return image;
+        }
+        return null;
+    }
+
+    /**
+     * Gives the image of a colour, i.e. the colour whose side is the image of the side of this colour.
+     * @param color the colour.
+     * @return the colour after the symmetry.
+     */
+    public Color map(Color color) {
+        return goalColor(this.map(goalSide(color)));
+    }
+
+    /**
+     * Gives the symmetry that undoes this one.
+     * @return the inverse symmetry.
+     */
+    public Symmetry inverse() {
+        // The matrices are orthogonal, so the inverse is the transpose
+        for (Symmetry symmetry : SYMMETRIES) {
+            if (symmetry.xx == this.xx && symmetry.xy == this.yx && symmetry.yx == this.xy && symmetry.yy == this.yy) return symmetry;
+        }
+        return null;
+    }
+
+    /**
+     * Gives the side of the board a player of a given colour needs to reach.
+     * @param color the colour.
+     * @return the side, as the direction to follow to reach it.
+     */
+    private static Direction goalSide(Color color) {
+        return switch (color) {
+            case YELLOW -> Direction.SOUTH;
+            case BLUE -> Direction.NORTH;
+            case RED -> Direction.EAST;
+            case GREEN -> Direction.WEST;
+        };
+    }
+
+    /**
+     * Gives the colour that needs to reach a side of the board.
+     * @param side the side, as the direction to follow to reach it.
+     * @return the colour.
+     */
+    private static Color goalColor(Direction side) {
+        return switch (side) {
+            case SOUTH -> Color.YELLOW;
+            case NORTH -> Color.BLUE;
+            case EAST -> Color.RED;
+            case WEST -> Color.GREEN;
+        };
+    }
+}
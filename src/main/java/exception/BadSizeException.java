@@ -11,4 +11,12 @@ public class BadSizeException extends Exception {
     public BadSizeException() {
         super("The size of the board must be strictly greater than 0.");
     }
+
+    /**
+     * Constructor method for BadSizeException, for a size that is valid for a board but not for what is done with it.
+     * @param str message to display if the exception is thrown
+     */
+    public BadSizeException(String str) {
+        super(str);
+    }
 }
@@ -5,10 +5,16 @@ import graph.Edge;
 import java.io.Serializable;
 
 /**
- * Class that represents a Barrier on the board.
+ * Class that represents a Barrier on the board, as the first versions of the game saved it.
  * A barrier is defined by 2 edges and by the player who placed it.
+ * The board now keeps the slots of its barriers, see {@link WallSlot}, so this class is only read when an old save is loaded.
  */
-public class Barrier implements Serializable {
+class Barrier implements Serializable {
+    /**
+     * Version of the class in the saves of the first versions, which didn't declare it.
+     */
+    private static final long serialVersionUID = -8692499310365673738L;
+
     /**
      * First edge of the barrier.
      */
@@ -22,23 +28,11 @@ public class Barrier implements Serializable {
      */
     private Player placedBy;
 
-    /**
-     * Constructor method for the barrier.
-     * @param e1 first edge of the barrier.
-     * @param e2 second edge of the barrier.
-     * @param placedBy player who placed the barrier.
-     */
-    public Barrier(Edge e1, Edge e2, Player placedBy) {
-        this.edge1 = e1;
-        this.edge2 = e2;
-        this.placedBy = placedBy;
-    }
-
     /**
      * Getter for the first edge of the barrier.
      * @return the first edge of the barrier.
      */
-    public Edge getEdge1() {
+    Edge getEdge1() {
         return this.edge1;
     }
 
@@ -46,39 +40,7 @@ public class Barrier implements Serializable {
      * Getter for the second edge of the barrier.
      * @return the second edge of the barrier.
      */
-    public Edge getEdge2() {
+    Edge getEdge2() {
         return this.edge2;
     }
-
-    /**
-     * Getter for the player who placed the barrier.
-     * @return the player who placed the barrier.
-     */
-    public Player getPlacedBy() {
-        return this.placedBy;
-    }
-
-    /**
-     * Setter for the first edge of the barrier.
-     * @param edge1 first edge of the barrier.
-     */
-    public void setEdge1(Edge edge1) {
-        this.edge1 = edge1;
-    }
-
-    /**
-     * Setter for the second edge of the barrier.
-     * @param edge2 second edge of the barrier.
-     */
-    public void setEdge2(Edge edge2) {
-        this.edge2 = edge2;
-    }
-
-    /**
-     * Setter for the player who placed the barrier.
-     * @param placedBy the player who placed the barrier
-     */
-    public void setPlacedBy(Player placedBy) {
-        this.placedBy = placedBy;
-    }
-}
\ No newline at end of file
+}
@@ -1,47 +1,721 @@
 package gameObjects;
 
+import constant.GameProperties;
+import enumeration.Color;
+import enumeration.Direction;
+import enumeration.GraphLayout;
 import exception.BadSizeException;
+import graph.BitParallelReachability;
+import graph.BridgeIndex;
+import graph.DistanceField;
+import graph.DistanceService;
+import graph.Edge;
 import graph.EdgeWeightedGraph;
+import graph.ParallelReachability;
+import graph.Position;
+import graph.WallBitboard;
+import graph.WallChainTracker;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This class represents the board itself.
  * This class extends the EdgeWeightedGraph class because we wanted to separate these 2 classes.
- * Compared to the EdgeWeightedGraph class, this class includes a list of Barriers placed on the board.
+ * Compared to the EdgeWeightedGraph class, this class includes the barriers placed on the board, stored as their slots, see {@link WallSlot}.
  */
 public class Board extends EdgeWeightedGraph implements Serializable {
+
+    /**
+     * Version of the class in the saves of the first versions, which didn't declare it, so they can still be loaded, see {@link #readObject(ObjectInputStream)}.
+     */
+    private static final long serialVersionUID = 797529873982795001L;
+
+    /**
+     * Every direction, in the order of their ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Slots of the barriers placed on the board, in the order they were placed, see {@link WallSlot}.
+     * Only the first barrierCount slots are used, the array grows when it is full.
+     */
+    private int[] wallSlots;
+
+    /**
+     * Number of barriers placed on the board.
+     */
+    private int barrierCount;
+
     /**
-     * List of barriers placed on the board.
+     * Distance of every cell to the side of each color.
+     * A field is created the first time a color is asked for, then it is repaired every time a barrier changes.
+     * It is a cache, so it isn't saved with the board.
      */
-    private final List<Barrier> barriers;
+    private transient Map<Color, DistanceField> distanceFields;
+
+    /**
+     * Index of the critical edges for each color.
+     * An index is rebuilt only when the barriers have changed since it was built.
+     */
+    private transient Map<Color, BridgeIndex> bridgeIndexes;
+
+    /**
+     * Chains of barriers touching each other or the border.
+     * It is rebuilt from the slots of the barriers when the board is loaded.
+     */
+    private transient WallChainTracker wallChains;
+
+    /**
+     * Centre of every barrier, where its two edges meet, indexed by the anchor of the barrier: y*(size-1)+x for the barrier anchored on (x,y).
+     * It is 0 if no barrier has its centre there, the ordinal of the sides the barrier is on plus 1 otherwise (SOUTH for a horizontal barrier, EAST for a vertical one).
+     * It is rebuilt from the slots of the barriers when the board is loaded.
+     */
+    private transient byte[] wallCentres;
+
+    /**
+     * Legal barriers of the board, computed again only when the barriers or the players have moved.
+     */
+    private transient LegalBarrierSet legalBarriers;
+
+    /**
+     * Signature of the barriers of the board.
+     * Every side of a cell has its own key, which is XORed in when a barrier is added or removed,
+     * so placing a barrier and removing it gives back the same signature.
+     * It is computed again from the slots when the board is loaded.
+     */
+    private transient long wallSignature;
+
+    /**
+     * Signature of the pawns on the board, built like the signature of the barriers with the keys of {@link ZobristKeys#pawn(Color, int)}.
+     * It isn't saved, the game puts its pawns back on the board when it is loaded.
+     */
+    private transient long pawnSignature;
+
+    /**
+     * Occupancy of every cell, indexed by adjacency list index: 0 if the cell is free, the ordinal of the color of the pawn on it plus 1 otherwise.
+     * It is kept up to date by {@link #movePawn(Color, Position, Position)}, so checking a cell doesn't go through the list of players.
+     * It isn't saved, the game puts its pawns back on the board when it is loaded.
+     */
+    private transient byte[] occupancy;
 
     /**
      * Constructor of the board class.
-     * This class extends another class, so we can directly use the super method.
+     * The graph uses the compact layout, the adjacency list layout only exists to load the saves of the first versions, see {@link GraphLayout}.
      * @param size size of the board.
      * @throws BadSizeException if the size isn't strictly greater than 0, it throws an error.
      */
     public Board(int size) throws BadSizeException {
-        super(size);
-        this.barriers = new ArrayList<>();
+        this(size, GraphLayout.COMPACT);
+    }
+
+    /**
+     * Constructor of the board class with a given layout for the graph.
+     * This class extends another class, so we can directly use the super method.
+     * @param size   size of the board.
+     * @param layout layout used to store the edges of the graph.
+     * @throws BadSizeException if the size isn't strictly greater than 0, it throws an error.
+     */
+    public Board(int size, GraphLayout layout) throws BadSizeException {
+        super(size, layout);
+        this.wallSlots = new int[GameProperties.BARRIER_LIMIT];
+        this.occupancy = new byte[size * size];
+    }
+
+    /**
+     * Reads a board from a save.
+     * The saves of the first versions keep a list of {@link Barrier}, each one on two edges, which are turned into slots.
+     * The edges themselves have already been read by {@link EdgeWeightedGraph}.
+     * @param in the stream the board is read from.
+     * @throws IOException if the stream can't be read.
+     * @throws ClassNotFoundException if a class of the save can't be found.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+
+        if (fields.getObjectStreamClass().getField("barriers") != null) {
+            List<?> barriers = (List<?>) fields.get("barriers", null);
+            this.wallSlots = new int[Math.max(barriers.size(), GameProperties.BARRIER_LIMIT)];
+            for (Object saved : barriers) {
+                Barrier barrier = (Barrier) saved;
+                this.wallSlots[this.barrierCount++] = WallSlot.of(barrier.getEdge1(), barrier.getEdge2());
+            }
+        } else {
+            this.wallSlots = (int[]) fields.get("wallSlots", null);
+            this.barrierCount = fields.get("barrierCount", 0);
+        }
+
+        for (int i = 0; i < this.barrierCount; i++) {
+            this.wallSignature ^= ZobristKeys.barrier(this.wallSlots[i], this.getSize());
+        }
+        this.occupancy = new byte[this.getSize() * this.getSize()];
+    }
+
+    /**
+     * Gives the slots of the barriers placed on the board.
+     * @return a copy of the slots, in the order the barriers were placed.
+     */
+    public int[] getWallSlots() {
+        return Arrays.copyOf(this.wallSlots, this.barrierCount);
     }
 
     /**
-     * Getter for the list of barriers.
-     * @return the list of barriers.
+     * Gives the slot of a barrier placed on the board.
+     * @param index index of the barrier, in the order they were placed.
+     * @return the slot of the barrier.
      */
-    public List<Barrier> getBarriers() {
-        return this.barriers;
+    public int getWallSlot(int index) {
+        return this.wallSlots[index];
     }
 
     /**
-     * Method to get the number of barriers in the list.
-     * @return the number of barriers in the list.
+     * Method to get the number of barriers placed on the board.
+     * @return the number of barriers.
      */
     public int getBarrierCount() {
-        return this.barriers.size();
+        return this.barrierCount;
+    }
+
+    /**
+     * Gives the two edges a barrier is on.
+     * In the compact layout, the edges are built on every call, so the board itself never uses this method, it works on the slots.
+     * @param slot the slot of the barrier, inside the board.
+     * @return the edge on the side of its anchor, then the other one.
+     */
+    public Edge[] getWallEdges(int slot) {
+        int x = WallSlot.getX(slot);
+        int y = WallSlot.getY(slot);
+        Direction side = WallSlot.getSide(slot);
+
+        Edge[] edges = new Edge[2];
+        edges[0] = this.getNeighbourEdge(x, y, side);
+        edges[1] = WallSlot.isHorizontal(slot) ? this.getNeighbourEdge(x + 1, y, side) : this.getNeighbourEdge(x, y + 1, side);
+        return edges;
+    }
+
+    /**
+     * Getter for the chains of barriers, building them from the slots of the barriers if needed.
+     * @return the chains of barriers of the board.
+     */
+    public WallChainTracker getWallChains() {
+        if (this.wallChains == null) {
+            this.wallChains = new WallChainTracker(this.getSize());
+            for (int i = 0; i < this.barrierCount; i++) {
+                int slot = this.wallSlots[i];
+                this.wallChains.addBarrier(WallSlot.getX(slot), WallSlot.getY(slot), WallSlot.isHorizontal(slot));
+            }
+        }
+        return this.wallChains;
+    }
+
+    /**
+     * Getter for the centres of the barriers, building them from the slots of the barriers if needed.
+     * @return the grid of the centres of the barriers.
+     */
+    private byte[] getWallCentres() {
+        if (this.wallCentres == null) {
+            int anchorsPerRow = Math.max(this.getSize() - 1, 0);
+            this.wallCentres = new byte[anchorsPerRow * anchorsPerRow];
+            for (int i = 0; i < this.barrierCount; i++) {
+                this.setWallCentre(this.wallSlots[i], true);
+            }
+        }
+        return this.wallCentres;
+    }
+
+    /**
+     * Checks if a barrier is placed on a slot, with a lookup in the grid of the centres.
+     * @param slot the slot of the barrier.
+     * @return true if this very barrier is placed, false otherwise or if the slot is outside the board.
+     */
+    public boolean wallAt(int slot) {
+        if (!WallSlot.isInside(slot, this.getSize())) return false;
+        return this.getWallCentre(WallSlot.getX(slot), WallSlot.getY(slot)) == WallSlot.getSide(slot);
+    }
+
+    /**
+     * Places a barrier on a slot: its edges are blocked and it is added to the barriers of the board.
+     * The barrier isn't validated, see {@link Player#tryPlaceBarrier(int, Board, List)} for that.
+     * @param slot the slot of the barrier, inside the board.
+     */
+    public void placeWall(int slot) {
+        this.writeWall(slot, true);
+
+        if (this.barrierCount == this.wallSlots.length) {
+            this.wallSlots = Arrays.copyOf(this.wallSlots, Math.max(2 * this.barrierCount, 1));
+        }
+        this.wallSlots[this.barrierCount++] = slot;
+
+        // If the chains haven't been built yet, they will be built from the slots, this one included
+        if (this.wallChains != null) this.wallChains.addBarrier(WallSlot.getX(slot), WallSlot.getY(slot), WallSlot.isHorizontal(slot));
+        this.setWallCentre(slot, true);
+    }
+
+    /**
+     * Removes the barrier placed on a slot, whenever it was placed.
+     * @param slot the slot of the barrier.
+     * @return true if the barrier was on the board and has been removed.
+     */
+    public boolean removeWall(int slot) {
+        int index = this.barrierCount - 1;
+        while (index >= 0 && this.wallSlots[index] != slot) index--;
+        if (index < 0) return false;
+
+        // The chains can be rolled back only for the last barrier
+        if (index == this.barrierCount - 1) {
+            this.removeLastBarrier();
+            return true;
+        }
+
+        this.writeWall(slot, false);
+
+        System.arraycopy(this.wallSlots, index + 1, this.wallSlots, index, this.barrierCount - index - 1);
+        this.barrierCount--;
+
+        this.wallChains = null;
+        this.setWallCentre(slot, false);
+        return true;
+    }
+
+    /**
+     * Gives the barrier whose centre is at an anchor, which is enough to find both the barriers crossing and the ones overlapping a barrier anchored there.
+     * @param x x coordinate of the anchor, the top left cell of the 2x2 block of cells around the centre.
+     * @param y y coordinate of the anchor.
+     * @return SOUTH if a horizontal barrier has its centre there, EAST for a vertical one, null if there is none or if the anchor is outside the board.
+     */
+    public Direction getWallCentre(int x, int y) {
+        int anchorsPerRow = this.getSize() - 1;
+        if (x < 0 || y < 0 || x >= anchorsPerRow || y >= anchorsPerRow) return null;
+
+        int centre = this.getWallCentres()[y * anchorsPerRow + x];
+        return centre == 0 ? null : DIRECTIONS[centre - 1];
+    }
+
+    /**
+     * Records or forgets the centre of a barrier.
+     * @param slot   the slot of the barrier.
+     * @param placed true if the barrier has been placed, false if it has been removed.
+     */
+    private void setWallCentre(int slot, boolean placed) {
+        // The grid is built from the slots the first time it is needed
+        if (this.wallCentres == null || !WallSlot.isInside(slot, this.getSize())) return;
+
+        int index = WallSlot.getY(slot) * (this.getSize() - 1) + WallSlot.getX(slot);
+        this.wallCentres[index] = placed ? (byte) (WallSlot.getSide(slot).ordinal() + 1) : 0;
+    }
+
+    /**
+     * Gives the distance field of a color, creating it if needed.
+     * @param color color of the player.
+     * @return the distance of every cell to the side of this color.
+     */
+    public DistanceField getDistanceField(Color color) {
+        if (this.distanceFields == null) {
+            this.distanceFields = new EnumMap<>(Color.class);
+        }
+        return this.distanceFields.computeIfAbsent(color, c -> new DistanceField(this, c));
+    }
+
+    /**
+     * Gives the number of moves a player needs to reach his side, ignoring the other players.
+     * @param position Position of the player.
+     * @param color    color of the player.
+     * @return the distance to the side, or {@link DistanceService#UNREACHABLE} if the side can't be reached.
+     */
+    public int distanceToGoal(Position position, Color color) {
+        return this.getDistanceField(color).getDistance(position);
+    }
+
+    /**
+     * Gives the index of critical edges of a color, building it if the barriers have changed.
+     * @param color color of the player.
+     * @return the index of critical edges of this color, up to date with the barriers.
+     */
+    public BridgeIndex getBridgeIndex(Color color) {
+        if (this.bridgeIndexes == null) {
+            this.bridgeIndexes = new EnumMap<>(Color.class);
+        }
+
+        BridgeIndex bridgeIndex = this.bridgeIndexes.get(color);
+        if (bridgeIndex == null) {
+            bridgeIndex = new BridgeIndex(this, color);
+            bridgeIndex.rebuild(this.wallSignature);
+            this.bridgeIndexes.put(color, bridgeIndex);
+        } else if (bridgeIndex.getSignature() != this.wallSignature) {
+            bridgeIndex.rebuild(this.wallSignature);
+        }
+
+        return bridgeIndex;
+    }
+
+    /**
+     * Checks if a barrier on two edges could cut a player from the side he needs to reach.
+     * @param e       first edge of the barrier.
+     * @param f       second edge of the barrier.
+     * @param players the list of players.
+     * @return true if one of the edges is critical for one of the players.
+     */
+    public boolean canBarrierCutPath(Edge e, Edge f, List<Player> players) {
+        return this.canBarrierCutPath(WallSlot.of(e, f), players);
+    }
+
+    /**
+     * Checks if a barrier could cut a player from the side he needs to reach.
+     * If it returns false, every player is guaranteed to keep a path, so there is no need to search for one.
+     * @param slot    the slot of the barrier, inside the board.
+     * @param players the list of players.
+     * @return true if one of the edges is critical for one of the players.
+     */
+    public boolean canBarrierCutPath(int slot, List<Player> players) {
+        int size = this.getSize();
+        int x = WallSlot.getX(slot);
+        int y = WallSlot.getY(slot);
+        Direction side = WallSlot.getSide(slot);
+        int slot1 = BridgeIndex.edgeSlot(x, y, side, size);
+        int slot2 = WallSlot.isHorizontal(slot) ? BridgeIndex.edgeSlot(x + 1, y, side, size) : BridgeIndex.edgeSlot(x, y + 1, side, size);
+
+        for (Player p : players) {
+            if (this.getBridgeIndex(p.getColor()).canCut(slot1, slot2, p.getPosition().toAdjacencyListIndex(size))) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if a barrier on two edges would leave every player a path to the side he needs to reach.
+     * @param e       first edge of the barrier.
+     * @param f       second edge of the barrier.
+     * @param players the list of players.
+     * @return true if every player would still have a path.
+     */
+    public boolean keepsEveryPath(Edge e, Edge f, List<Player> players) {
+        return this.keepsEveryPath(WallSlot.of(e, f), players);
+    }
+
+    /**
+     * Checks if a barrier would leave every player a path to the side he needs to reach.
+     * A barrier that doesn't close a loop with other barriers or the border can't enclose anyone,
+     * and neither can a barrier on edges that aren't critical for any player, so we only search when both checks fail.
+     * The barrier is only written in the graph during the search: the distance fields and the hash aren't told about it,
+     * so nothing is repaired for a barrier that is removed right after, and the search doesn't read the distance fields.
+     * @param slot    the slot of the barrier, inside the board.
+     * @param players the list of players.
+     * @return true if every player would still have a path.
+     */
+    public boolean keepsEveryPath(int slot, List<Player> players) {
+        int x = WallSlot.getX(slot);
+        int y = WallSlot.getY(slot);
+        boolean horizontal = WallSlot.isHorizontal(slot);
+        if (!this.getWallChains().wouldCloseLoop(x, y, horizontal)) return true;
+        if (!this.canBarrierCutPath(slot, players)) return true;
+
+        Direction side = WallSlot.getSide(slot);
+        int secondX = horizontal ? x + 1 : x;
+        int secondY = horizontal ? y : y + 1;
+
+        // Temporarily accept the barrier as valid to check if it would be, then remove it whatever happens during the search
+        // Only the bitboard is written, so the weights of the terrain under the barrier are never touched
+        boolean firstAdded = this.writeWall(x, y, side, true);
+        boolean secondAdded = this.writeWall(secondX, secondY, side, true);
+        try {
+            return super.reachablePlayersMask(players) == (1 << players.size()) - 1;
+        }
+        finally {
+            if (firstAdded) this.writeWall(x, y, side, false);
+            if (secondAdded) this.writeWall(secondX, secondY, side, false);
+        }
+    }
+
+    /**
+     * Checks a whole set of barriers of one orientation at once, keeping the ones that would leave every player a path.
+     * We first follow one shortest path of every player along its distance field, then every barrier using none of the edges
+     * of these paths is kept straight away, since the paths stay open. Only the barriers on a path go through {@link #keepsEveryPath(int, List)},
+     * so checking every place of the board costs a few searches instead of one per barrier.
+     * The barriers aren't checked for overlaps or crossings, see {@link LegalBarrierSet} for that.
+     * @param candidates bits of the barriers to check, the bit y*(size-1)+x being the barrier anchored on (x,y), as in {@link LegalBarrierSet}.
+     * @param horizontal true if the barriers are horizontal, false if they are vertical.
+     * @param players    the list of players.
+     * @return the bits of the candidates that would leave every player a path.
+     */
+    public long[] filterBarriersKeepingPaths(long[] candidates, boolean horizontal, List<Player> players) {
+        int size = this.getSize();
+        int anchorsPerRow = size - 1;
+        long[] kept = new long[candidates.length];
+
+        // Edges used by the shortest path of at least one player, indexed by their slot
+        long[] pathEdges = new long[(2 * size * size + 63) >>> 6];
+        boolean everyPathFound = true;
+        for (Player p : players) {
+            everyPathFound &= this.markShortestPath(p, pathEdges);
+        }
+
+        Direction side = horizontal ? Direction.SOUTH : Direction.EAST;
+        for (int word = 0; word < candidates.length; word++) {
+            long bits = candidates[word];
+
+            while (bits != 0) {
+                int bit = (word << 6) + Long.numberOfTrailingZeros(bits);
+                int x = bit % anchorsPerRow;
+                int y = bit / anchorsPerRow;
+                int slot1 = BridgeIndex.edgeSlot(x, y, side, size);
+                int slot2 = horizontal ? BridgeIndex.edgeSlot(x + 1, y, side, size) : BridgeIndex.edgeSlot(x, y + 1, side, size);
+
+                boolean onPath = (pathEdges[slot1 >>> 6] & (1L << slot1)) != 0 || (pathEdges[slot2 >>> 6] & (1L << slot2)) != 0;
+                if (everyPathFound && !onPath) {
+                    kept[word] |= bits & -bits;
+                } else if (this.keepsEveryPath(WallSlot.of(x, y, horizontal), players)) {
+                    kept[word] |= bits & -bits;
+                }
+
+                bits &= bits - 1;
+            }
+        }
+
+        return kept;
+    }
+
+    /**
+     * Gives the edges of a shortest path of a player to his side, see {@link #markShortestPath(Player, long[])}.
+     * @param player the player.
+     * @return the bits of the edges of the path, indexed by their slot, or null if the player is already cut from his side.
+     */
+    long[] shortestPathEdges(Player player) {
+        int size = this.getSize();
+        long[] pathEdges = new long[(2 * size * size + 63) >>> 6];
+        return this.markShortestPath(player, pathEdges) ? pathEdges : null;
+    }
+
+    /**
+     * Follows a shortest path of a player to his side, going every time to a neighbour one step closer in his distance field,
+     * and sets the bits of the edges it goes through.
+     * @param player    the player.
+     * @param pathEdges bits of the edges, indexed by their slot, see {@link BridgeIndex#edgeSlot(int, int, Direction, int)}.
+     * @return true if the player has a path, false if he is already cut from his side.
+     */
+    private boolean markShortestPath(Player player, long[] pathEdges) {
+        int size = this.getSize();
+        DistanceField field = this.getDistanceField(player.getColor());
+        int x = player.getPosition().getX();
+        int y = player.getPosition().getY();
+        int distance = field.getDistance(y * size + x);
+        if (distance == DistanceService.UNREACHABLE) return false;
+
+        while (distance > 0) {
+            for (Direction direction : DIRECTIONS) {
+                if (this.isBlocked(x, y, direction)) continue;
+
+                int nextX = x + direction.getXOffset();
+                int nextY = y + direction.getYOffset();
+                if (field.getDistance(nextY * size + nextX) != distance - 1) continue;
+
+                int slot = BridgeIndex.edgeSlot(x, y, direction, size);
+                pathEdges[slot >>> 6] |= 1L << slot;
+                x = nextX;
+                y = nextY;
+                break;
+            }
+            distance--;
+        }
+
+        return true;
+    }
+
+    /**
+     * Gives the legal barriers of the board, bringing them up to date with the barriers and the players if needed.
+     * The barrier limit isn't taken into account, see {@link #isBarrierLegal(int, int, boolean, List)}.
+     * @param players the list of players.
+     * @return the set of the legal barriers.
+     */
+    public LegalBarrierSet getLegalBarriers(List<Player> players) {
+        if (this.legalBarriers == null) {
+            this.legalBarriers = new LegalBarrierSet(this.getSize());
+        }
+
+        long pawnSignature = 0;
+        for (Player p : players) {
+            pawnSignature ^= ZobristKeys.pawn(p.getColor(), p.getPosition().toAdjacencyListIndex(this.getSize()));
+        }
+        this.legalBarriers.update(this, players, this.wallSignature, pawnSignature);
+
+        return this.legalBarriers;
+    }
+
+    /**
+     * Checks if a barrier can be placed, as {@link Player#tryPlaceBarrier(int, Board, List)} would,
+     * but with a bit test as long as neither the barriers nor the players have moved.
+     * @param x          x coordinate of the top left cell of the 2x2 block of cells the barrier separates.
+     * @param y          y coordinate of the top left cell of the 2x2 block of cells the barrier separates.
+     * @param horizontal true for a horizontal barrier, false for a vertical one.
+     * @param players    the list of players.
+     * @return true if the barrier can be placed.
+     */
+    public boolean isBarrierLegal(int x, int y, boolean horizontal, List<Player> players) {
+        if (this.barrierCount >= GameProperties.BARRIER_LIMIT) return false;
+        return this.getLegalBarriers(players).isLegal(x, y, horizontal);
+    }
+
+    /**
+     * Removes the last barrier placed on the board.
+     * Its edges are freed and the chains of barriers are rolled back, so it is the exact reverse of {@link #placeWall(int)}.
+     * @return the slot of the barrier removed, or {@link WallSlot#NONE} if there is none.
+     */
+    public int removeLastBarrier() {
+        if (this.barrierCount == 0) return WallSlot.NONE;
+
+        int slot = this.wallSlots[--this.barrierCount];
+        this.writeWall(slot, false);
+
+        // If the chains haven't been built yet, they will be built from the remaining barriers
+        if (this.wallChains != null) this.wallChains.removeLastBarrier();
+        this.setWallCentre(slot, false);
+
+        return slot;
+    }
+
+    /**
+     * Takes a snapshot of the barriers of the board.
+     * The bitboard of barriers isn't copied, it is shared until the board or a snapshot writes in it,
+     * so a snapshot can be taken at every turn, or for every move an AI wants to look at.
+     * @return the current state of the board.
+     */
+    public BoardSnapshot snapshot() {
+        return new BoardSnapshot(this.getSize(), this.getWalls().copy(), this.getWallSlots());
+    }
+
+    /**
+     * Puts the board back in the state of a snapshot.
+     * Only the sides of cells whose barrier differs are changed, through {@link #setWall(int, int, Direction, boolean)} so that the bitboard and the caches stay in sync.
+     * @param snapshot the state to restore, taken on a board of the same size.
+     */
+    public void restore(BoardSnapshot snapshot) {
+        WallBitboard walls = this.getWalls();
+        WallBitboard target = snapshot.getWalls();
+        int wordsPerRow = walls.getWordsPerRow();
+
+        for (int word = 0; word < this.getSize() * wordsPerRow; word++) {
+            long horizontalDiff = walls.getHorizontalWord(word) ^ target.getHorizontalWord(word);
+            long verticalDiff = walls.getVerticalWord(word) ^ target.getVerticalWord(word);
+            int y = word / wordsPerRow;
+            int firstX = (word % wordsPerRow) * 64;
+
+            // We go through the set bits of the differences, lowest first
+            while (horizontalDiff != 0) {
+                int x = firstX + Long.numberOfTrailingZeros(horizontalDiff);
+                this.setWall(x, y, Direction.SOUTH, target.isWall(x, y, Direction.SOUTH));
+                horizontalDiff &= horizontalDiff - 1;
+            }
+            while (verticalDiff != 0) {
+                int x = firstX + Long.numberOfTrailingZeros(verticalDiff);
+                this.setWall(x, y, Direction.EAST, target.isWall(x, y, Direction.EAST));
+                verticalDiff &= verticalDiff - 1;
+            }
+        }
+
+        int[] slots = snapshot.getWallSlots();
+        this.wallSlots = Arrays.copyOf(slots, Math.max(slots.length, GameProperties.BARRIER_LIMIT));
+        this.barrierCount = slots.length;
+        // The chains and the centres are rebuilt from the slots the next time they are needed
+        this.wallChains = null;
+        this.wallCentres = null;
+    }
+
+    /**
+     * Adds or removes both sides of cells of a barrier, so that the weights, the bitboard and the caches stay in sync.
+     * The slot isn't added to or removed from the barriers of the board.
+     * @param slot the slot of the barrier, inside the board.
+     * @param wall true to add the barrier, false to remove it.
+     */
+    private void writeWall(int slot, boolean wall) {
+        int x = WallSlot.getX(slot);
+        int y = WallSlot.getY(slot);
+        Direction side = WallSlot.getSide(slot);
+
+        this.setWall(x, y, side, wall);
+        if (WallSlot.isHorizontal(slot)) this.setWall(x + 1, y, side, wall);
+        else this.setWall(x, y + 1, side, wall);
+    }
+
+    /**
+     * Gives the Zobrist hash of the board, covering the barriers and the pawns.
+     * It is updated every time a barrier or a pawn changes, so this method doesn't compute anything.
+     * @return the hash of the board.
+     */
+    public long getZobristHash() {
+        return this.wallSignature ^ this.pawnSignature;
+    }
+
+    /**
+     * Updates the signature of the pawns and the occupancy grid when a pawn goes from a cell to another.
+     * It must be called every time the Position of a player changes.
+     * @param color color of the pawn.
+     * @param from  previous Position of the pawn, or null if it wasn't on the board.
+     * @param to    new Position of the pawn, or null if it leaves the board.
+     */
+    public void movePawn(Color color, Position from, Position to) {
+        if (from != null) {
+            int index = from.toAdjacencyListIndex(this.getSize());
+            this.pawnSignature ^= ZobristKeys.pawn(color, index);
+            if (this.occupancy[index] == color.ordinal() + 1) this.occupancy[index] = 0;
+        }
+        if (to != null) {
+            int index = to.toAdjacencyListIndex(this.getSize());
+            this.pawnSignature ^= ZobristKeys.pawn(color, index);
+            this.occupancy[index] = (byte) (color.ordinal() + 1);
+        }
+    }
+
+    /**
+     * Checks if there is a pawn on a cell, with a lookup in the occupancy grid.
+     * @param index adjacency list index of the cell.
+     * @return true if a pawn is on the cell, false if it is free or if the index is outside the board.
+     */
+    public boolean isOccupied(int index) {
+        return index >= 0 && index < this.occupancy.length && this.occupancy[index] != 0;
+    }
+
+    /**
+     * Updates the signature of the barriers when a barrier is added or removed on one side of the cell (x,y).
+     * The distance fields already created are repaired incrementally.
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction side of the cell.
+     * @param wall      true if the barrier has been added, false if it has been removed.
+     */
+    @Override
+    protected void onWallChanged(int x, int y, Direction direction, boolean wall) {
+        this.wallSignature ^= ZobristKeys.wall(BridgeIndex.edgeSlot(x, y, direction, this.getSize()));
+
+        if (this.distanceFields != null) {
+            for (DistanceField distanceField : this.distanceFields.values()) {
+                distanceField.onWallChanged(x, y, direction, wall);
+            }
+        }
+    }
+
+    /**
+     * This method checks if every player has a path to the side he needs to go to.
+     * On boards too big to be flooded row by row, if the searches can run in parallel, we let {@link ParallelReachability} do them,
+     * otherwise the distance fields are kept up to date, so it is a simple lookup for each player.
+     * @param players the list of players.
+     * @return a bitmask, the bit i being set if the player i of the list has a path.
+     *         If a player is blocked, the bits of the players whose search has been cancelled may be unset.
+     */
+    @Override
+    public int reachablePlayersMask(List<Player> players) {
+        if (BitParallelReachability.supports(this.getSize()) || ParallelReachability.isUseful()) {
+            return super.reachablePlayersMask(players);
+        }
+
+        int mask = 0;
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            if (this.distanceToGoal(p.getPosition(), p.getColor()) != DistanceService.UNREACHABLE) mask |= 1 << i;
+        }
+        return mask;
     }
 }
@@ -0,0 +1,118 @@
+package gameObjects;
+
+import enumeration.Direction;
+import graph.WallBitboard;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This class represents the state of a board at a given time, see {@link Board#snapshot()}.
+ * A snapshot never changes: the methods "with..." give a new snapshot and leave this one untouched.
+ * The barriers are stored in a {@link WallBitboard} shared with the board and the other snapshots,
+ * so taking a snapshot or deriving a new one only copies the chunks of walls that are written.
+ */
+public final class BoardSnapshot implements Serializable {
+
+    /**
+     * Version of the class, to change when its saved form changes.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Size of the board.
+     */
+    private final int size;
+
+    /**
+     * Barriers of the board, as a bitboard that is never written in.
+     * It owns no chunk, so the copies given by {@link #getWalls()} don't write in it either.
+     */
+    private final WallBitboard walls;
+
+    /**
+     * Slots of the barriers placed on the board, in the order they were placed, see {@link WallSlot}.
+     * There are at most {@link constant.GameProperties#BARRIER_LIMIT} barriers, so copying them costs as much as the rest of the snapshot.
+     */
+    private final int[] wallSlots;
+
+    /**
+     * Constructor of the BoardSnapshot class.
+     * @param size      size of the board.
+     * @param walls     barriers of the board, which must not be written in afterwards.
+     * @param wallSlots slots of the barriers placed on the board, which must not be written in afterwards.
+     */
+    BoardSnapshot(int size, WallBitboard walls, int[] wallSlots) {
+        this.size = size;
+        // A fresh copy owns nothing, so reading the snapshot never writes in it
+        this.walls = walls.ownsChunks() ? walls.copy() : walls;
+        this.wallSlots = wallSlots;
+    }
+
+    /**
+     * Getter for the size.
+     * @return the size of the board.
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Gives the barriers of the board as a bitboard.
+     * It is a copy, in constant time, so writing in it doesn't change the snapshot.
+     * @return a copy of the bitboard of the snapshot.
+     */
+    public WallBitboard getWalls() {
+        return this.walls.copy();
+    }
+
+    /**
+     * Gives the slots of the barriers placed on the board.
+     * @return a copy of the slots, in the order the barriers were placed.
+     */
+    public int[] getWallSlots() {
+        return this.wallSlots.clone();
+    }
+
+    /**
+     * Method to get the number of barriers placed on the board.
+     * @return the number of barriers.
+     */
+    public int getBarrierCount() {
+        return this.wallSlots.length;
+    }
+
+    /**
+     * Checks if there is a barrier on one side of the cell (x,y).
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction side of the cell to check.
+     * @return true if there is a barrier on this side of the cell.
+     */
+    public boolean isWall(int x, int y, Direction direction) {
+        return this.walls.isWall(x, y, direction);
+    }
+
+    /**
+     * Gives a new snapshot with one more barrier.
+     * Only the chunks of walls touched by the barrier are copied.
+     * The barrier isn't validated, see {@link Player#checkBarrierPlacement(int, Board, java.util.List)} for that.
+     * @param slot the slot of the barrier to add, inside the board.
+     * @return the new snapshot.
+     */
+    public BoardSnapshot withBarrier(int slot) {
+        int x = WallSlot.getX(slot);
+        int y = WallSlot.getY(slot);
+        Direction side = WallSlot.getSide(slot);
+
+        WallBitboard newWalls = this.walls.copy();
+        newWalls.setWall(x, y, side, true);
+        if (WallSlot.isHorizontal(slot)) newWalls.setWall(x + 1, y, side, true);
+        else newWalls.setWall(x, y + 1, side, true);
+
+        int[] newWallSlots = Arrays.copyOf(this.wallSlots, this.wallSlots.length + 1);
+        newWallSlots[this.wallSlots.length] = slot;
+
+        return new BoardSnapshot(this.size, newWalls, newWallSlots);
+    }
+}
@@ -0,0 +1,301 @@
+package gameObjects;
+
+import enumeration.Direction;
+import enumeration.Symmetry;
+import exception.BadPositionException;
+import graph.BridgeIndex;
+import graph.Position;
+import graph.WallBitboard;
+
+import java.util.List;
+
+/**
+ * This class represents the state of a game in its canonical orientation.
+ * Two states that only differ by a symmetry of the board, the colours being swapped accordingly, have the same canonical form,
+ * so the canonical form can be used as the key of a cache shared by all of them.
+ * <p>
+ * A symmetry only counts if it keeps the order of the turns: for 2 players, the mirrors and the half turn do,
+ * for 4 players, only the swap of x and y does, the other ones changing who plays after whom.
+ * Among the symmetries that count, we keep the one giving the smallest barriers, then the smallest Positions.
+ */
+public final class CanonicalForm {
+    /**
+     * Sides of a cell on which the barriers are stored in a bitboard.
+     */
+    private static final Direction[] STORED_SIDES = {Direction.SOUTH, Direction.EAST};
+
+    /**
+     * Symmetry applied to the state to get the canonical form.
+     */
+    private final Symmetry symmetry;
+
+    /**
+     * Number of places every player has been moved by in the list of players: the player i of the game is the player (i + shift) % count of the canonical form.
+     * The colours are swapped by the symmetry, so the list is rotated to keep the colour of every index.
+     */
+    private final int playerShift;
+
+    /**
+     * Size of the board.
+     */
+    private final int size;
+
+    /**
+     * Barriers of the canonical form.
+     */
+    private final WallBitboard walls;
+
+    /**
+     * Adjacency list index of the Position of every player of the canonical form.
+     */
+    private final int[] cells;
+
+    /**
+     * Index of the player whose turn it is in the canonical form.
+     */
+    private final int currentPlayerTurn;
+
+    /**
+     * Zobrist hash of the canonical form, built with the keys of {@link ZobristKeys}.
+     */
+    private final long key;
+
+    /**
+     * Constructor of the CanonicalForm class.
+     * @param symmetry          symmetry applied to the state.
+     * @param playerShift       shift of the list of players.
+     * @param size              size of the board.
+     * @param walls             barriers of the canonical form.
+     * @param cells             Position of every player of the canonical form.
+     * @param currentPlayerTurn index of the player whose turn it is in the canonical form.
+     * @param key               hash of the canonical form.
+     */
+    private CanonicalForm(Symmetry symmetry, int playerShift, int size, WallBitboard walls, int[] cells, int currentPlayerTurn, long key) {
+        this.symmetry = symmetry;
+        this.playerShift = playerShift;
+        this.size = size;
+        this.walls = walls;
+        this.cells = cells;
+        this.currentPlayerTurn = currentPlayerTurn;
+        this.key = key;
+    }
+
+    /**
+     * Gives the canonical form of a game.
+     * @param game the game.
+     * @return the canonical form of its current state.
+     */
+    public static CanonicalForm of(Game game) {
+        return of(game.getBoard(), game.getPlayers(), game.getCurrentPlayerTurn());
+    }
+
+    /**
+     * Gives the canonical form of a state: the barriers of a board, the Positions of the players and the player whose turn it is.
+     * @param board             the board.
+     * @param players           the players, in the order of the turns.
+     * @param currentPlayerTurn index of the player whose turn it is.
+     * @return the canonical form of the state.
+     */
+    public static CanonicalForm of(Board board, List<Player> players, int currentPlayerTurn) {
+        CanonicalForm best = null;
+
+        for (Symmetry symmetry : Symmetry.values()) {
+            int shift = playerShift(symmetry, players);
+            if (shift < 0) continue;
+
+            CanonicalForm candidate = transform(board, players, currentPlayerTurn, symmetry, shift);
+            if (best == null || candidate.compareTo(best) < 0) best = candidate;
+        }
+
+        return best;
+    }
+
+    /**
+     * Finds how much the list of players must be rotated so that every index keeps its colour after a symmetry.
+     * @param symmetry the symmetry.
+     * @param players  the players, in the order of the turns.
+     * @return the shift of the list, or -1 if the symmetry changes the order of the turns.
+     */
+    private static int playerShift(Symmetry symmetry, List<Player> players) {
+        int count = players.size();
+
+        for (int shift = 0; shift < count; shift++) {
+            boolean matches = true;
+            for (int i = 0; i < count && matches; i++) {
+                matches = symmetry.map(players.get(i).getColor()) == players.get((i + shift) % count).getColor();
+            }
+            if (matches) return shift;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Applies a symmetry to a state.
+     * @param board             the board.
+     * @param players           the players, in the order of the turns.
+     * @param currentPlayerTurn index of the player whose turn it is.
+     * @param symmetry          the symmetry.
+     * @param shift             shift of the list of players, see {@link #playerShift(Symmetry, List)}.
+     * @return the state after the symmetry.
+     */
+    private static CanonicalForm transform(Board board, List<Player> players, int currentPlayerTurn, Symmetry symmetry, int shift) {
+        int size = board.getSize();
+        int count = players.size();
+        WallBitboard source = board.getWalls();
+        WallBitboard walls = new WallBitboard(size);
+        long key = 0;
+
+        // Every barrier is a south or east side of a cell, which goes to another side of the image of the cell
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                for (Direction direction : STORED_SIDES) {
+                    if (!source.isWall(x, y, direction)) continue;
+
+                    int newX = symmetry.mapX(x, y, size);
+                    int newY = symmetry.mapY(x, y, size);
+                    Direction newDirection = symmetry.map(direction);
+                    walls.setWall(newX, newY, newDirection, true);
+                    key ^= ZobristKeys.wall(BridgeIndex.edgeSlot(newX, newY, newDirection, size));
+                }
+            }
+        }
+
+        int[] cells = new int[count];
+        for (int i = 0; i < count; i++) {
+            Position position = players.get(i).getPosition();
+            int player = (i + shift) % count;
+            cells[player] = symmetry.mapY(position.getX(), position.getY(), size) * size + symmetry.mapX(position.getX(), position.getY(), size);
+            key ^= ZobristKeys.pawn(players.get(player).getColor(), cells[player]);
+        }
+
+        int turn = (currentPlayerTurn + shift) % count;
+        key ^= ZobristKeys.sideToMove(turn);
+
+        return new CanonicalForm(symmetry, shift, size, walls, cells, turn, key);
+    }
+
+    /**
+     * Compares two states of the same game, first by their barriers, then by the Positions of the players, then by the player whose turn it is.
+     * @param other the other state.
+     * @return a negative number, zero or a positive number if this state is smaller, equal or bigger.
+     */
+    private int compareTo(CanonicalForm other) {
+        for (int word = 0; word < this.size * this.walls.getWordsPerRow(); word++) {
+            int comparison = Long.compareUnsigned(this.walls.getHorizontalWord(word), other.walls.getHorizontalWord(word));
+            if (comparison == 0) comparison = Long.compareUnsigned(this.walls.getVerticalWord(word), other.walls.getVerticalWord(word));
+            if (comparison != 0) return comparison;
+        }
+
+        for (int i = 0; i < this.cells.length; i++) {
+            if (this.cells[i] != other.cells[i]) return Integer.compare(this.cells[i], other.cells[i]);
+        }
+
+        return Integer.compare(this.currentPlayerTurn, other.currentPlayerTurn);
+    }
+
+    /**
+     * Getter for the symmetry.
+     * @return the symmetry applied to the state to get the canonical form.
+     */
+    public Symmetry getSymmetry() {
+        return this.symmetry;
+    }
+
+    /**
+     * Getter for the key.
+     * @return the Zobrist hash of the canonical form, the same for every state with this canonical form.
+     */
+    public long getKey() {
+        return this.key;
+    }
+
+    /**
+     * Gives the barriers of the canonical form.
+     * @return a copy of the bitboard of the canonical form.
+     */
+    public WallBitboard getWalls() {
+        return this.walls.copy();
+    }
+
+    /**
+     * Gives the Position of a player of the canonical form.
+     * @param player index of the player in the canonical form.
+     * @return the adjacency list index of his Position.
+     */
+    public int getCell(int player) {
+        return this.cells[player];
+    }
+
+    /**
+     * Getter for the player whose turn it is.
+     * @return the index of the player whose turn it is in the canonical form.
+     */
+    public int getCurrentPlayerTurn() {
+        return this.currentPlayerTurn;
+    }
+
+    /**
+     * Gives the index in the canonical form of a player of the game.
+     * @param player index of the player in the game.
+     * @return the index of the same player in the canonical form.
+     */
+    public int toCanonicalPlayer(int player) {
+        return (player + this.playerShift) % this.cells.length;
+    }
+
+    /**
+     * Gives the index in the game of a player of the canonical form.
+     * @param player index of the player in the canonical form.
+     * @return the index of the same player in the game.
+     */
+    public int toOriginalPlayer(int player) {
+        return (player - this.playerShift + this.cells.length) % this.cells.length;
+    }
+
+    /**
+     * Gives the direction in the game corresponding to a direction of the canonical form, to play a move found on the canonical form.
+     * @param direction direction in the canonical form.
+     * @return the same direction in the game.
+     */
+    public Direction toOriginal(Direction direction) {
+        return this.symmetry.inverse().map(direction);
+    }
+
+    /**
+     * Gives the Position in the game corresponding to a Position of the canonical form.
+     * @param position Position in the canonical form.
+     * @return the same Position in the game, or null if it is outside the board.
+     */
+    public Position toOriginal(Position position) {
+        Symmetry inverse = this.symmetry.inverse();
+        try {
+            return Position.of(inverse.mapX(position.getX(), position.getY(), this.size), inverse.mapY(position.getX(), position.getY(), this.size), this.size);
+        }
+        catch (BadPositionException bpe) {
+            bpe.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Compares this canonical form to another object.
+     * Two states with the same canonical form are equivalent, whatever the symmetry used to get it.
+     * @param obj The object to compare for equality.
+     * @return {@code true} if the object is a canonical form of the same state.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof CanonicalForm other)) return false;
+        return this.size == other.size && this.key == other.key && this.cells.length == other.cells.length && this.compareTo(other) == 0;
+    }
+
+    /**
+     * Returns a hash code consistent with equals, so canonical forms can be used as keys of maps.
+     * @return the hash code of the canonical form.
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.key);
+    }
+}
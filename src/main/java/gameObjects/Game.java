@@ -1,14 +1,19 @@
 package gameObjects;
 
 import enumeration.Color;
+import enumeration.MoveType;
 import exception.BadNumberPlayersException;
 import exception.BadPositionException;
 import exception.BadSizeException;
 import exception.UnknownColorException;
 import graph.Position;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 /**
@@ -16,6 +21,12 @@ import java.util.List;
  * This class contains a board, a list of players and a turns' counter.
  */
 public class Game implements Serializable {
+
+    /**
+     * Version of the class in the saves of the first versions, which didn't declare it, so they can still be loaded, see {@link #readObject(ObjectInputStream)}.
+     */
+    private static final long serialVersionUID = -1257404292794630955L;
+
     /**
      * Board of the game.
      */
@@ -33,6 +44,25 @@ public class Game implements Serializable {
      */
     private int turnCount;
 
+    /**
+     * Key of the player whose turn it is, part of the Zobrist hash of the game.
+     * It is 0 as long as there are no players, and it is computed again when the game is loaded.
+     */
+    private transient long sideToMoveKey;
+
+    /**
+     * Moves applied with {@link #apply(Move)}, the last one on top.
+     * It is only used to undo moves, so it isn't saved with the game.
+     */
+    private transient Deque<Move> journal;
+
+    /**
+     * Last state published with {@link #publishState()}, for the threads that read the game while the players change it.
+     * The state is immutable and the reference is volatile, so a reader always sees a whole turn, without taking any lock.
+     * It is null until the first publication and isn't saved with the game.
+     */
+    private transient volatile GameState publishedState;
+
     /**
      * Constructor of the class.
      * We just initialize the list of players and set the turns' counter to 0.
@@ -98,6 +128,7 @@ public class Game implements Serializable {
      */
     public void setTurnCount(int turnCount) {
         this.turnCount = turnCount;
+        this.updateSideToMoveKey();
     }
 
     /**
@@ -105,6 +136,24 @@ public class Game implements Serializable {
      */
     public void turnCountIncrement() {
         this.turnCount++;
+        this.updateSideToMoveKey();
+    }
+
+    /**
+     * Updates the key of the player whose turn it is, after the turns' counter has changed.
+     */
+    private void updateSideToMoveKey() {
+        this.sideToMoveKey = this.players.isEmpty() ? 0 : ZobristKeys.sideToMove(this.getCurrentPlayerTurn());
+    }
+
+    /**
+     * Gives the Zobrist hash of the game, covering the barriers, the Positions of the players and the player whose turn it is.
+     * Every part of it is updated when the game changes, so this method doesn't compute anything.
+     * Two games with the same hash are, with a very high probability, in the same state.
+     * @return the hash of the game.
+     */
+    public long getZobristHash() {
+        return this.board.getZobristHash() ^ this.sideToMoveKey;
     }
 
     /**
@@ -158,34 +207,74 @@ public class Game implements Serializable {
             int maxCoord = size-1;
 
             // We create the first two players, give them their position and add them to the list
-            Player player1 = new Player("Yellow", Color.YELLOW);
-            player1.setPosition(new Position(maxCoord/2, 0));
+            Player player1 = new Player(defaultName(Color.YELLOW), Color.YELLOW);
+            player1.setPosition(Position.of(maxCoord/2, 0, size));
 
-            Player player2 = new Player("Blue", Color.BLUE);
-            player2.setPosition(new Position(maxCoord/2, maxCoord));
+            Player player2 = new Player(defaultName(Color.BLUE), Color.BLUE);
+            player2.setPosition(Position.of(maxCoord/2, maxCoord, size));
 
             this.setPlayers(player1, player2);
 
             // If the number of players is equal to 4, we create 2 more players and add them to the list
             if(nbPlayers == 4) {
-                Player player3 = new Player("Red", Color.RED);
-                player3.setPosition(new Position(0, maxCoord/2));
+                Player player3 = new Player(defaultName(Color.RED), Color.RED);
+                player3.setPosition(Position.of(0, maxCoord/2, size));
 
-                Player player4 = new Player("Green", Color.GREEN);
-                player4.setPosition(new Position(maxCoord, maxCoord/2));
+                Player player4 = new Player(defaultName(Color.GREEN), Color.GREEN);
+                player4.setPosition(Position.of(maxCoord, maxCoord/2, size));
 
                 this.addPlayer(player3);
                 this.addPlayer(player4);
             }
 
+            // We put the pawns in the hash of the board
+            for (Player p : this.players) {
+                this.board.movePawn(p.getColor(), null, p.getPosition());
+            }
+
             // We initialize the turns' count to 0
-            this.turnCount = 0;
+            this.setTurnCount(0);
         }
         catch (BadPositionException | BadNumberPlayersException | BadSizeException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Gives the name a player of a color has when he is created by the game and not by the user.
+     * @param color color of the player.
+     * @return the name of the color, like "Yellow".
+     */
+    static String defaultName(Color color) {
+        return switch (color) {
+            case YELLOW -> "Yellow";
+            case BLUE -> "Blue";
+            case RED -> "Red";
+            case GREEN -> "Green";
+        };
+    }
+
+    /**
+     * Reads a game from a save.
+     * The board doesn't save its pawns, so the players are put back on it, on the interned Positions,
+     * and the key of the player whose turn it is, which the saves of the first versions don't have, is computed again.
+     * @param in the stream the game is read from.
+     * @throws IOException if the stream can't be read.
+     * @throws ClassNotFoundException if a class of the save can't be found.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        if (this.board != null) {
+            int size = this.board.getSize();
+            for (Player player : this.players) {
+                player.setPosition(this.board.getTopology().getPosition(player.getPosition().toAdjacencyListIndex(size)));
+                this.board.movePawn(player.getColor(), null, player.getPosition());
+            }
+        }
+        this.updateSideToMoveKey();
+    }
+
     /**
      * This method returns the index of the player whose turn it is to play.
      * @return the index of the player whose turn it is to play.
@@ -194,6 +283,132 @@ public class Game implements Serializable {
         return this.turnCount % this.players.size();
     }
 
+    /**
+     * Getter for the journal of moves, creating it if needed.
+     * @return the moves applied with {@link #apply(Move)}, the last one on top.
+     */
+    private Deque<Move> getJournal() {
+        if (this.journal == null) {
+            this.journal = new ArrayDeque<>();
+        }
+        return this.journal;
+    }
+
+    /**
+     * Applies a move if it is valid, and increments the turns' counter.
+     * The move is kept in the journal so it can be undone with {@link #undo()}.
+     * A move of a player whose turn it isn't is rejected, since undoing it would give the turn to the wrong player,
+     * and so is a move of pawn without destination.
+     * @param move the move to apply.
+     * @return true if the move was valid and has been applied.
+     */
+    public boolean apply(Move move) {
+        // Only the player whose turn it is can play, nothing is changed otherwise
+        if (this.players.isEmpty() || move.getPlayerIndex() != this.getCurrentPlayerTurn()) return false;
+        if (move.getType() == MoveType.PAWN && move.getTo() == null) return false;
+
+        Player player = this.players.get(move.getPlayerIndex());
+        Position from = player.getPosition();
+        boolean applied;
+
+        if (move.getType() == MoveType.PAWN) {
+            applied = player.tryMove(move.getTo().getX(), move.getTo().getY(), this.board).isValid();
+        } else {
+            applied = player.tryPlaceBarrier(move.getSlot(), this.board, this.players).isValid();
+        }
+
+        if (applied) {
+            this.getJournal().push(move.from(from));
+            this.turnCountIncrement();
+        }
+
+        return applied;
+    }
+
+    /**
+     * Undoes the last move applied with {@link #apply(Move)}.
+     * The pawn goes back to its Position, or the barrier is removed, and the turns' counter is decremented.
+     * @return the move undone, or null if there is none.
+     */
+    public Move undo() {
+        Move move = this.getJournal().poll();
+        if (move == null) return null;
+
+        if (move.getType() == MoveType.PAWN) {
+            Player player = this.players.get(move.getPlayerIndex());
+            this.board.movePawn(player.getColor(), player.getPosition(), move.getFrom());
+            player.setPosition(move.getFrom());
+        } else {
+            this.board.removeLastBarrier();
+        }
+
+        this.setTurnCount(this.turnCount - 1);
+        return move;
+    }
+
+    /**
+     * Method to know if a move can be undone.
+     * @return true if the journal contains at least one move.
+     */
+    public boolean canUndo() {
+        return this.journal != null && !this.journal.isEmpty();
+    }
+
+    /**
+     * Publishes the current state of the game for the other threads, see {@link #getPublishedState()}.
+     * It must be called by the thread that changes the game, once a turn is over:
+     * the moves tried in between, and the ones played and undone by an AI looking ahead, are never seen by the readers.
+     */
+    public void publishState() {
+        try {
+            this.publishedState = GameState.of(this);
+        }
+        catch (BadSizeException bse) {
+            // The readers keep the last state that could be published
+            bse.printStackTrace();
+        }
+    }
+
+    /**
+     * Gives the last state published, which can be read from any thread without blocking the one playing.
+     * @return the state of the game at the end of the last published turn, or null if nothing has been published yet.
+     */
+    public GameState getPublishedState() {
+        return this.publishedState;
+    }
+
+    /**
+     * Takes a snapshot of the game, i.e. of the board, the Positions of the players and the turns' counter.
+     * It doesn't copy the board, see {@link Board#snapshot()}, so it can be used for an undo at every turn or by an AI looking ahead.
+     * @return the current state of the game.
+     */
+    public GameSnapshot snapshot() {
+        Position[] positions = new Position[this.players.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = this.players.get(i).getPosition();
+        }
+
+        return new GameSnapshot(this.board.snapshot(), positions, this.turnCount);
+    }
+
+    /**
+     * Puts the game back in the state of a snapshot taken on this game.
+     * @param snapshot the state to restore.
+     */
+    public void restore(GameSnapshot snapshot) {
+        this.board.restore(snapshot.getBoard());
+        // The moves of the journal may not lead to the restored state
+        this.getJournal().clear();
+
+        for (int i = 0; i < this.players.size(); i++) {
+            Player player = this.players.get(i);
+            this.board.movePawn(player.getColor(), player.getPosition(), snapshot.getPosition(i));
+            player.setPosition(snapshot.getPosition(i));
+        }
+
+        this.setTurnCount(snapshot.getTurnCount());
+    }
+
     @Override
     public String toString() {
         return "Game{" +
@@ -0,0 +1,109 @@
+package gameObjects;
+
+import graph.Position;
+
+import java.io.Serializable;
+
+/**
+ * This class represents the state of a game at a given time, see {@link Game#snapshot()}.
+ * Like {@link BoardSnapshot}, it never changes: the methods "with..." give a new snapshot sharing everything that didn't change.
+ * Positions are immutable, so a snapshot only keeps the Position of every player, in the order of the list of players.
+ */
+public final class GameSnapshot implements Serializable {
+
+    /**
+     * Version of the class, to change when its saved form changes.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * State of the board.
+     */
+    private final BoardSnapshot board;
+
+    /**
+     * Position of every player, in the order of the list of players of the game.
+     */
+    private final Position[] positions;
+
+    /**
+     * Turns' counter.
+     */
+    private final int turnCount;
+
+    /**
+     * Constructor of the GameSnapshot class.
+     * @param board     state of the board.
+     * @param positions Position of every player.
+     * @param turnCount turns' counter.
+     */
+    GameSnapshot(BoardSnapshot board, Position[] positions, int turnCount) {
+        this.board = board;
+        this.positions = positions;
+        this.turnCount = turnCount;
+    }
+
+    /**
+     * Getter for the state of the board.
+     * @return the state of the board.
+     */
+    public BoardSnapshot getBoard() {
+        return this.board;
+    }
+
+    /**
+     * Method to get the number of players.
+     * @return the number of players of the game.
+     */
+    public int getPlayerCount() {
+        return this.positions.length;
+    }
+
+    /**
+     * Gives the Position of a player.
+     * @param player index of the player in the list of players of the game.
+     * @return the Position of the player.
+     */
+    public Position getPosition(int player) {
+        return this.positions[player];
+    }
+
+    /**
+     * Getter for the turns' counter.
+     * @return the turns' counter.
+     */
+    public int getTurnCount() {
+        return this.turnCount;
+    }
+
+    /**
+     * This method returns the index of the player whose turn it is to play.
+     * @return the index of the player whose turn it is to play.
+     */
+    public int getCurrentPlayerTurn() {
+        return this.turnCount % this.positions.length;
+    }
+
+    /**
+     * Gives a new snapshot where a player has moved and the turns' counter has been incremented.
+     * The move isn't validated, see {@link Player#move(int, int, Board)} for that.
+     * @param player   index of the player in the list of players of the game.
+     * @param position new Position of the player.
+     * @return the new snapshot.
+     */
+    public GameSnapshot withMove(int player, Position position) {
+        Position[] newPositions = this.positions.clone();
+        newPositions[player] = position;
+        return new GameSnapshot(this.board, newPositions, this.turnCount + 1);
+    }
+
+    /**
+     * Gives a new snapshot with one more barrier and the turns' counter incremented.
+     * The barrier isn't validated, see {@link Player#checkBarrierPlacement(int, Board, java.util.List)} for that.
+     * @param slot the slot of the barrier to add, see {@link WallSlot}.
+     * @return the new snapshot.
+     */
+    public GameSnapshot withBarrier(int slot) {
+        return new GameSnapshot(this.board.withBarrier(slot), this.positions, this.turnCount + 1);
+    }
+}
@@ -0,0 +1,270 @@
+package gameObjects;
+
+import enumeration.Color;
+import exception.BadPositionException;
+import exception.BadSizeException;
+import graph.Position;
+
+import java.util.Arrays;
+
+/**
+ * This record is the state of a game packed in a few longs: the Positions of the players, the barriers and the turns' counter.
+ * Unlike {@link Game} and {@link GameSnapshot}, it holds no object besides its array of barriers, which is never written in
+ * after construction and never given out, so a state can be kept by millions or handed to another thread without copying or locking.
+ * <p>
+ * The header holds the size of the board (bits 0 to 8), the number of players (bits 9 to 11), the color of every player
+ * (2 bits each from bit 12, in the order of the list of players) and the turns' counter (bits 32 to 63).
+ * The pawns hold the adjacency list index of the cell of every player, 16 bits each, so the board can't be bigger than 256x256.
+ * The walls hold one bit per barrier slot: the bit 2*(y*(size-1)+x) for the horizontal barrier anchored on (x,y), the next one for the vertical barrier.
+ * <p>
+ * The order in which the barriers were placed isn't kept: it only matters to undo moves, and the journal of moves isn't part of the state either.
+ * Neither are the names of the players: every game names its players after their color, see {@link Game#initGame(int, int)},
+ * and {@link #toGame()} gives them these names back, so the conversion only loses a name changed afterwards with {@link Player#setName(String)}.
+ * A name plays no part in the rules, and keeping strings would give every state objects to share, which is what this record avoids.
+ * @param header size of the board, players' colors and turns' counter.
+ * @param pawns  cell of every player.
+ * @param walls  bits of the barriers placed on the board.
+ */
+public record GameState(long header, long pawns, long[] walls) {
+
+    /**
+     * Biggest size of board whose cells fit in 16 bits.
+     */
+    public static final int MAX_SIZE = 256;
+
+    /**
+     * Every color, in the order of their ordinal.
+     */
+    private static final Color[] COLORS = Color.values();
+
+    /**
+     * Constructor of the GameState record.
+     * The array of barriers is copied, so the state can't be changed through it afterwards.
+     * @param header size of the board, players' colors and turns' counter.
+     * @param pawns  cell of every player.
+     * @param walls  bits of the barriers placed on the board.
+     */
+    public GameState {
+        walls = walls.clone();
+    }
+
+    /**
+     * Packs the current state of a game.
+     * @param game the game, which must have been initialized.
+     * @return the state of the game.
+     * @throws BadSizeException if the board is bigger than {@link #MAX_SIZE}.
+     */
+    public static GameState of(Game game) throws BadSizeException {
+        Board board = game.getBoard();
+        int size = board.getSize();
+        if (size > MAX_SIZE) throw new BadSizeException("A game state can't hold a board bigger than " + MAX_SIZE + ".");
+
+        long header = size | (long) game.getPlayers().size() << 9 | (game.getTurnCount() & 0xFFFFFFFFL) << 32;
+        long pawns = 0;
+        for (int i = 0; i < game.getPlayers().size(); i++) {
+            Player player = game.getPlayers().get(i);
+            header |= (long) player.getColor().ordinal() << (12 + 2 * i);
+            pawns |= (long) player.getPosition().toAdjacencyListIndex(size) << (16 * i);
+        }
+
+        long[] walls = new long[wordCount(size)];
+        for (int slot : board.getWallSlots()) {
+            int bit = bitOf(slot, size);
+            walls[bit >>> 6] |= 1L << bit;
+        }
+
+        return new GameState(header, pawns, walls);
+    }
+
+    /**
+     * Unpacks the state in a new game, with a new board on which the barriers are placed again and new players named after their color,
+     * as {@link Game#initGame(int, int)} names them.
+     * @return a game in this state, or null if the state is corrupted.
+     */
+    public Game toGame() {
+        int size = this.getSize();
+        Game game = new Game();
+
+        try {
+            Board board = new Board(size);
+            board.initializeGraph();
+            game.setBoard(board);
+
+            for (int i = 0; i < this.getPlayerCount(); i++) {
+                Color color = this.getColor(i);
+                Player player = new Player(Game.defaultName(color), color);
+                player.setPosition(Position.fromAdjacencyListIndex(this.getCell(i), size));
+                board.movePawn(color, null, player.getPosition());
+                game.addPlayer(player);
+            }
+
+            // The barriers go back in the order of their slots
+            for (int word = 0; word < this.walls.length; word++) {
+                long bits = this.walls[word];
+                while (bits != 0) {
+                    int bit = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    board.placeWall(slotOf(bit, size));
+                    bits &= bits - 1;
+                }
+            }
+
+            game.setTurnCount(this.getTurnCount());
+        }
+        catch (BadSizeException | BadPositionException e) {
+            e.printStackTrace();
+            return null;
+        }
+
+        return game;
+    }
+
+    /**
+     * Gives the size of the board.
+     * @return the number of rows/columns of the board.
+     */
+    public int getSize() {
+        return (int) (this.header & 0x1FF);
+    }
+
+    /**
+     * Method to get the number of players.
+     * @return the number of players of the game.
+     */
+    public int getPlayerCount() {
+        return (int) (this.header >>> 9) & 0x7;
+    }
+
+    /**
+     * Gives the color of a player.
+     * @param player index of the player in the list of players of the game.
+     * @return the color of the player.
+     */
+    public Color getColor(int player) {
+        return COLORS[(int) (this.header >>> (12 + 2 * player)) & 0x3];
+    }
+
+    /**
+     * Gives the cell of a player.
+     * @param player index of the player in the list of players of the game.
+     * @return the adjacency list index of his Position.
+     */
+    public int getCell(int player) {
+        return (int) (this.pawns >>> (16 * player)) & 0xFFFF;
+    }
+
+    /**
+     * Getter for the turns' counter.
+     * @return the turns' counter.
+     */
+    public int getTurnCount() {
+        return (int) (this.header >>> 32);
+    }
+
+    /**
+     * This method returns the index of the player whose turn it is to play.
+     * @return the index of the player whose turn it is to play.
+     */
+    public int getCurrentPlayerTurn() {
+        return this.getTurnCount() % this.getPlayerCount();
+    }
+
+    /**
+     * Method to get the number of barriers placed on the board.
+     * @return the number of barriers.
+     */
+    public int getBarrierCount() {
+        int count = 0;
+        for (long word : this.walls) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Checks if a barrier is placed on a slot.
+     * @param slot the slot of the barrier, see {@link WallSlot}.
+     * @return true if this barrier is placed, false otherwise or if the slot is outside the board.
+     */
+    public boolean wallAt(int slot) {
+        int size = this.getSize();
+        if (!WallSlot.isInside(slot, size)) return false;
+
+        int bit = bitOf(slot, size);
+        return (this.walls[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Gives the bits of the barriers.
+     * The record keeps its own array, so this is a copy.
+     * @return a copy of the bits of the barriers.
+     */
+    @Override
+    public long[] walls() {
+        return this.walls.clone();
+    }
+
+    /**
+     * Compares this state to another object.
+     * @param obj The object to compare for equality.
+     * @return {@code true} if the object is a state with the same header, pawns and barriers.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof GameState other)) return false;
+        return this.header == other.header && this.pawns == other.pawns && Arrays.equals(this.walls, other.walls);
+    }
+
+    /**
+     * Returns a hash code consistent with equals, so states can be used as keys of maps.
+     * @return the hash code of the state.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Long.hashCode(this.header) + Long.hashCode(this.pawns)) + Arrays.hashCode(this.walls);
+    }
+
+    /**
+     * Gives a readable form of the state.
+     * @return the header, the pawns and the barriers of the state.
+     */
+    @Override
+    public String toString() {
+        return "GameState{" +
+                "header=" + Long.toHexString(this.header) +
+                ", pawns=" + Long.toHexString(this.pawns) +
+                ", walls=" + Arrays.toString(this.walls) +
+                '}';
+    }
+
+    /**
+     * Gives the number of longs needed to hold a bit for every barrier slot of a board.
+     * @param size size of the board.
+     * @return the number of longs.
+     */
+    private static int wordCount(int size) {
+        int anchorsPerRow = Math.max(size - 1, 0);
+        return (2 * anchorsPerRow * anchorsPerRow + 63) >>> 6;
+    }
+
+    /**
+     * Gives the bit of a barrier slot.
+     * @param slot the slot of the barrier, inside the board.
+     * @param size size of the board.
+     * @return the index of its bit in the walls.
+     */
+    private static int bitOf(int slot, int size) {
+        int anchor = WallSlot.getY(slot) * (size - 1) + WallSlot.getX(slot);
+        return 2 * anchor + (WallSlot.isHorizontal(slot) ? 0 : 1);
+    }
+
+    /**
+     * Gives the barrier slot of a bit, the reverse of {@link #bitOf(int, int)}.
+     * @param bit  the index of the bit in the walls.
+     * @param size size of the board.
+     * @return the slot of the barrier.
+     */
+    private static int slotOf(int bit, int size) {
+        int anchor = bit >>> 1;
+        return WallSlot.of(anchor % (size - 1), anchor / (size - 1), (bit & 1) == 0);
+    }
+}
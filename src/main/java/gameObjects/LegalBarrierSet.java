@@ -0,0 +1,377 @@
+package gameObjects;
+
+import enumeration.Color;
+import enumeration.Direction;
+import graph.BridgeIndex;
+import graph.WallBitboard;
+
+import java.util.List;
+
+/**
+ * This class keeps, for every place a barrier can be put on, whether putting it there is legal.
+ * A barrier is given by its orientation and its anchor: the top left cell of the 2x2 block of cells it separates.
+ * A horizontal barrier anchored on (x,y) is on the south side of (x,y) and (x+1,y), a vertical one on the east side of (x,y) and (x,y+1).
+ * <p>
+ * The barrier limit apart, a barrier is legal if it doesn't overlap or cross another one, which only depends on the barriers,
+ * and if it doesn't cut a player from his side, which also depends on the Positions of the players.
+ * So the first part is only recomputed when the barriers change, and the second one when the barriers or the players have moved,
+ * going through the fast checks of the board before searching, see {@link Board#keepsEveryPath(int, List)}.
+ * Between two changes, checking a barrier is a bit test.
+ * <p>
+ * When barriers have only been added and the players have moved along the board, the set is updated instead of being computed again.
+ * The free barriers only change around the barriers added. A barrier that avoids the new shortest paths of the players who could lose theirs
+ * stays legal, and a barrier that avoids the old shortest paths of the players who moved stays illegal, since the player it cut hasn't moved
+ * and has even fewer ways out. Only the other barriers are checked again. Removing a barrier or restoring the board computes everything again.
+ */
+public class LegalBarrierSet {
+    /**
+     * Number of anchors on a row, a barrier needing 2 cells in both directions.
+     */
+    private final int anchorsPerRow;
+
+    /**
+     * Bits of the horizontal barriers that don't overlap or cross another barrier, the bit y*(size-1)+x being the barrier anchored on (x,y).
+     */
+    private final long[] freeHorizontal;
+
+    /**
+     * Bits of the vertical barriers that don't overlap or cross another barrier.
+     */
+    private final long[] freeVertical;
+
+    /**
+     * Bits of the legal horizontal barriers.
+     */
+    private final long[] legalHorizontal;
+
+    /**
+     * Bits of the legal vertical barriers.
+     */
+    private final long[] legalVertical;
+
+    /**
+     * Signature of the barriers of the board when the free barriers were computed.
+     */
+    private long wallSignature;
+
+    /**
+     * Signature of the Positions of the players when the legal barriers were computed.
+     */
+    private long pawnSignature;
+
+    /**
+     * Number of barriers of the board when the free barriers were computed.
+     */
+    private int barrierCount;
+
+    /**
+     * Colors of the players when the legal barriers were computed, in the order of the list of players.
+     */
+    private Color[] colors;
+
+    /**
+     * Adjacency list index of the cell of every player when the legal barriers were computed.
+     */
+    private int[] cells;
+
+    /**
+     * Edges of a shortest path of every player when the legal barriers were computed, see {@link Board#shortestPathEdges(Player)}.
+     * It is null if a player had no path, the set is then computed again entirely next time.
+     */
+    private long[][] paths;
+
+    /**
+     * Whether the bits have been computed at least once.
+     */
+    private boolean built;
+
+    /**
+     * Constructor of the LegalBarrierSet class.
+     * The bits are computed the first time the set is brought up to date.
+     * @param size size of the board.
+     */
+    public LegalBarrierSet(int size) {
+        this.anchorsPerRow = Math.max(size - 1, 0);
+
+        int words = (this.anchorsPerRow * this.anchorsPerRow + 63) >>> 6;
+        this.freeHorizontal = new long[words];
+        this.freeVertical = new long[words];
+        this.legalHorizontal = new long[words];
+        this.legalVertical = new long[words];
+    }
+
+    /**
+     * Checks if a barrier is legal, the barrier limit apart.
+     * The set must be up to date, see {@link Board#getLegalBarriers(List)}.
+     * @param x          x coordinate of the anchor.
+     * @param y          y coordinate of the anchor.
+     * @param horizontal true for a horizontal barrier, false for a vertical one.
+     * @return true if the barrier can be placed.
+     */
+    public boolean isLegal(int x, int y, boolean horizontal) {
+        if (x < 0 || y < 0 || x >= this.anchorsPerRow || y >= this.anchorsPerRow) return false;
+
+        int bit = y * this.anchorsPerRow + x;
+        long[] legal = horizontal ? this.legalHorizontal : this.legalVertical;
+        return (legal[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Gives the number of legal barriers of an orientation.
+     * @param horizontal true for the horizontal barriers, false for the vertical ones.
+     * @return the number of legal barriers.
+     */
+    public int count(boolean horizontal) {
+        int count = 0;
+        for (long word : horizontal ? this.legalHorizontal : this.legalVertical) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Getter for the number of anchors on a row.
+     * @return the size of the board minus 1.
+     */
+    public int getAnchorsPerRow() {
+        return this.anchorsPerRow;
+    }
+
+    /**
+     * Brings the set up to date with the board and the players.
+     * Nothing is computed again if neither the barriers nor the players have moved since the last time,
+     * and the set is only updated if barriers have been added since then, see {@link #wallsOnlyGrew(Board, long)}.
+     * @param board         the board.
+     * @param players       the list of players.
+     * @param wallSignature current signature of the barriers of the board.
+     * @param pawnSignature current signature of the Positions of the players.
+     */
+    void update(Board board, List<Player> players, long wallSignature, long pawnSignature) {
+        if (this.built && wallSignature == this.wallSignature && pawnSignature == this.pawnSignature) return;
+
+        long[][] paths = new long[players.size()][];
+        boolean everyPathFound = true;
+        for (int i = 0; i < players.size(); i++) {
+            paths[i] = board.shortestPathEdges(players.get(i));
+            everyPathFound &= paths[i] != null;
+        }
+
+        if (everyPathFound && this.paths != null && this.isSamePlayers(players) && this.wallsOnlyGrew(board, wallSignature)) {
+            this.updateIncrementally(board, players, paths);
+        } else {
+            this.computeFreeBarriers(board);
+            this.computeLegalBarriers(board, players, true);
+            this.computeLegalBarriers(board, players, false);
+        }
+
+        this.colors = new Color[players.size()];
+        this.cells = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            this.colors[i] = players.get(i).getColor();
+            this.cells[i] = players.get(i).getPosition().toAdjacencyListIndex(board.getSize());
+        }
+        this.paths = everyPathFound ? paths : null;
+        this.barrierCount = board.getBarrierCount();
+        this.wallSignature = wallSignature;
+        this.pawnSignature = pawnSignature;
+        this.built = true;
+    }
+
+    /**
+     * Checks if the players are the same ones, in the same order, as when the legal barriers were computed.
+     * @param players the list of players.
+     * @return true if every player has the same color as before.
+     */
+    private boolean isSamePlayers(List<Player> players) {
+        if (this.colors == null || this.colors.length != players.size()) return false;
+
+        for (int i = 0; i < players.size(); i++) {
+            if (this.colors[i] != players.get(i).getColor()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the barriers of the board are the ones of the last computation plus the ones placed since then.
+     * We add the keys of the new barriers to the old signature, so a barrier removed and another one placed instead is noticed.
+     * @param board         the board.
+     * @param wallSignature current signature of the barriers of the board.
+     * @return true if barriers have only been added.
+     */
+    private boolean wallsOnlyGrew(Board board, long wallSignature) {
+        int count = board.getBarrierCount();
+        if (count < this.barrierCount) return false;
+
+        long signature = this.wallSignature;
+        for (int i = this.barrierCount; i < count; i++) {
+            signature ^= ZobristKeys.barrier(board.getWallSlot(i), board.getSize());
+        }
+        return signature == wallSignature;
+    }
+
+    /**
+     * Updates the set after barriers have been added or players have moved.
+     * @param board   the board.
+     * @param players the list of players.
+     * @param paths   edges of a shortest path of every player, on the current board.
+     */
+    private void updateIncrementally(Board board, List<Player> players, long[][] paths) {
+        int size = board.getSize();
+        WallBitboard walls = board.getWalls();
+        boolean wallsChanged = board.getBarrierCount() != this.barrierCount;
+
+        // A barrier can only stop being free if one of its edges or its centre has just been taken, by a barrier anchored next to it
+        for (int i = this.barrierCount; i < board.getBarrierCount(); i++) {
+            int slot = board.getWallSlot(i);
+            for (int y = Math.max(WallSlot.getY(slot) - 1, 0); y <= Math.min(WallSlot.getY(slot) + 1, this.anchorsPerRow - 1); y++) {
+                for (int x = Math.max(WallSlot.getX(slot) - 1, 0); x <= Math.min(WallSlot.getX(slot) + 1, this.anchorsPerRow - 1); x++) {
+                    this.computeFreeBarrier(board, walls, x, y);
+                }
+            }
+        }
+
+        int words = (2 * size * size + 63) >>> 6;
+        // Old paths of the players who moved, new paths of the players who could have lost theirs, and new paths of every player
+        long[] oldPaths = new long[words];
+        long[] newPaths = new long[words];
+        long[] everyPath = new long[words];
+        for (int i = 0; i < players.size(); i++) {
+            boolean moved = this.cells[i] != players.get(i).getPosition().toAdjacencyListIndex(size);
+            for (int word = 0; word < words; word++) {
+                if (moved) oldPaths[word] |= this.paths[i][word];
+                if (moved || wallsChanged) newPaths[word] |= paths[i][word];
+                everyPath[word] |= paths[i][word];
+            }
+        }
+
+        this.updateLegalBarriers(board, players, true, oldPaths, newPaths, everyPath);
+        this.updateLegalBarriers(board, players, false, oldPaths, newPaths, everyPath);
+    }
+
+    /**
+     * Updates the legal barriers of an orientation, keeping what can be kept and checking the other barriers again.
+     * @param board      the board.
+     * @param players    the list of players.
+     * @param horizontal true for the horizontal barriers, false for the vertical ones.
+     * @param oldPaths   edges of the old shortest paths of the players who moved.
+     * @param newPaths   edges of the new shortest paths of the players who moved, or of every player if barriers have been added.
+     * @param everyPath  edges of the new shortest paths of every player.
+     */
+    private void updateLegalBarriers(Board board, List<Player> players, boolean horizontal, long[] oldPaths, long[] newPaths, long[] everyPath) {
+        int size = board.getSize();
+        long[] free = horizontal ? this.freeHorizontal : this.freeVertical;
+        long[] legal = horizontal ? this.legalHorizontal : this.legalVertical;
+
+        for (int word = 0; word < free.length; word++) {
+            long bits = free[word];
+            long kept = 0;
+
+            while (bits != 0) {
+                int bit = (word << 6) + Long.numberOfTrailingZeros(bits);
+                int slot = WallSlot.of(bit % this.anchorsPerRow, bit / this.anchorsPerRow, horizontal);
+                boolean wasLegal = (legal[word] & (bits & -bits)) != 0;
+
+                boolean isLegal;
+                if (!touches(everyPath, slot, size) || (wasLegal && !touches(newPaths, slot, size))) {
+                    isLegal = true;
+                } else if (!wasLegal && !touches(oldPaths, slot, size)) {
+                    isLegal = false;
+                } else {
+                    isLegal = board.keepsEveryPath(slot, players);
+                }
+
+                if (isLegal) kept |= bits & -bits;
+                bits &= bits - 1;
+            }
+
+            legal[word] = kept;
+        }
+    }
+
+    /**
+     * Finds the barriers that don't overlap or cross another one.
+     * @param board the board.
+     */
+    private void computeFreeBarriers(Board board) {
+        WallBitboard walls = board.getWalls();
+
+        for (int y = 0; y < this.anchorsPerRow; y++) {
+            for (int x = 0; x < this.anchorsPerRow; x++) {
+                this.computeFreeBarrier(board, walls, x, y);
+            }
+        }
+    }
+
+    /**
+     * Finds if the barriers anchored on (x,y) overlap or cross another one.
+     * A barrier crosses the barrier of the other orientation that has its centre on the same anchor, see {@link Board#getWallCentre(int, int)}.
+     * @param board the board.
+     * @param walls the bitboard of the board.
+     * @param x     x coordinate of the anchor.
+     * @param y     y coordinate of the anchor.
+     */
+    private void computeFreeBarrier(Board board, WallBitboard walls, int x, int y) {
+        int bit = y * this.anchorsPerRow + x;
+        boolean isCentreFree = board.getWallCentre(x, y) == null;
+        setBit(this.freeHorizontal, bit, isCentreFree && !walls.isWall(x, y, Direction.SOUTH) && !walls.isWall(x + 1, y, Direction.SOUTH));
+        setBit(this.freeVertical, bit, isCentreFree && !walls.isWall(x, y, Direction.EAST) && !walls.isWall(x, y + 1, Direction.EAST));
+    }
+
+    /**
+     * Finds the free barriers of an orientation that don't cut any player from his side.
+     * They are checked all at once, see {@link Board#filterBarriersKeepingPaths(long[], boolean, List)}.
+     * @param board      the board.
+     * @param players    the list of players.
+     * @param horizontal true for the horizontal barriers, false for the vertical ones.
+     */
+    private void computeLegalBarriers(Board board, List<Player> players, boolean horizontal) {
+        long[] legal = board.filterBarriersKeepingPaths(horizontal ? this.freeHorizontal : this.freeVertical, horizontal, players);
+        System.arraycopy(legal, 0, horizontal ? this.legalHorizontal : this.legalVertical, 0, legal.length);
+    }
+
+    /**
+     * Checks if a barrier is on one of the edges of a set.
+     * @param edges bits of the edges, indexed by their slot, see {@link BridgeIndex#edgeSlot(int, int, Direction, int)}.
+     * @param slot  the slot of the barrier, inside the board.
+     * @param size  size of the board.
+     * @return true if one of the edges of the barrier is in the set.
+     */
+    private static boolean touches(long[] edges, int slot, int size) {
+        int first = firstEdge(slot, size);
+        int second = secondEdge(slot, size);
+        return (edges[first >>> 6] & (1L << first)) != 0 || (edges[second >>> 6] & (1L << second)) != 0;
+    }
+
+    /**
+     * Gives the slot of the edge of the anchor of a barrier.
+     * @param slot the slot of the barrier, inside the board.
+     * @param size size of the board.
+     * @return the slot of the edge, see {@link BridgeIndex#edgeSlot(int, int, Direction, int)}.
+     */
+    private static int firstEdge(int slot, int size) {
+        return BridgeIndex.edgeSlot(WallSlot.getX(slot), WallSlot.getY(slot), WallSlot.getSide(slot), size);
+    }
+
+    /**
+     * Gives the slot of the other edge of a barrier, next to the anchor.
+     * @param slot the slot of the barrier, inside the board.
+     * @param size size of the board.
+     * @return the slot of the edge, see {@link BridgeIndex#edgeSlot(int, int, Direction, int)}.
+     */
+    private static int secondEdge(int slot, int size) {
+        int x = WallSlot.getX(slot);
+        int y = WallSlot.getY(slot);
+        return WallSlot.isHorizontal(slot) ? BridgeIndex.edgeSlot(x + 1, y, Direction.SOUTH, size) : BridgeIndex.edgeSlot(x, y + 1, Direction.EAST, size);
+    }
+
+    /**
+     * Sets or clears a bit of a bitset.
+     * @param bitset the bitset.
+     * @param bit    index of the bit.
+     * @param value  true to set the bit, false to clear it.
+     */
+    private static void setBit(long[] bitset, int bit, boolean value) {
+        if (value) bitset[bit >>> 6] |= 1L << bit;
+        else bitset[bit >>> 6] &= ~(1L << bit);
+    }
+}
@@ -0,0 +1,140 @@
+package gameObjects;
+
+import enumeration.MoveType;
+import graph.Position;
+
+import java.io.Serializable;
+
+/**
+ * This class represents what a player does on his turn: moving his pawn or placing a barrier.
+ * A move is given to {@link Game#apply(Move)}, which keeps it in its journal so it can be undone.
+ * A move never changes once created.
+ */
+public class Move implements Serializable {
+
+    /**
+     * Version of the class, to change when its saved form changes.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Type of the move.
+     */
+    private final MoveType type;
+
+    /**
+     * Index of the player in the list of players of the game.
+     */
+    private final int playerIndex;
+
+    /**
+     * Position of the pawn before the move, only for the moves of pawn that have been applied.
+     */
+    private final Position from;
+
+    /**
+     * Destination of the pawn, only for the moves of pawn.
+     */
+    private final Position to;
+
+    /**
+     * Slot of the barrier, see {@link WallSlot}, or {@link WallSlot#NONE} for the moves of pawn.
+     */
+    private final int slot;
+
+    /**
+     * Constructor of a move of pawn.
+     * @param playerIndex index of the player in the list of players of the game.
+     * @param to          destination of the pawn, a move without destination being refused by {@link Game#apply(Move)}.
+     */
+    public Move(int playerIndex, Position to) {
+        this(MoveType.PAWN, playerIndex, null, to, WallSlot.NONE);
+    }
+
+    /**
+     * Constructor of a barrier placement.
+     * @param playerIndex index of the player in the list of players of the game.
+     * @param slot        slot of the barrier, see {@link WallSlot}.
+     */
+    public Move(int playerIndex, int slot) {
+        this(MoveType.BARRIER, playerIndex, null, null, slot);
+    }
+
+    /**
+     * Constructor with every attribute.
+     * @param type        type of the move.
+     * @param playerIndex index of the player.
+     * @param from        Position of the pawn before the move.
+     * @param to          destination of the pawn.
+     * @param slot        slot of the barrier.
+     */
+    private Move(MoveType type, int playerIndex, Position from, Position to, int slot) {
+        this.type = type;
+        this.playerIndex = playerIndex;
+        this.from = from;
+        this.to = to;
+        this.slot = slot;
+    }
+
+    /**
+     * Gives the same move, remembering where the pawn was before it.
+     * It is what the journal of the game keeps, so a move of pawn can be undone.
+     * @param from Position of the pawn before the move.
+     * @return the move with its starting Position.
+     */
+    Move from(Position from) {
+        return new Move(this.type, this.playerIndex, from, this.to, this.slot);
+    }
+
+    /**
+     * Getter for the type.
+     * @return the type of the move.
+     */
+    public MoveType getType() {
+        return this.type;
+    }
+
+    /**
+     * Getter for the index of the player.
+     * @return the index of the player in the list of players of the game.
+     */
+    public int getPlayerIndex() {
+        return this.playerIndex;
+    }
+
+    /**
+     * Getter for the starting Position.
+     * @return the Position of the pawn before the move, or null if it isn't known.
+     */
+    public Position getFrom() {
+        return this.from;
+    }
+
+    /**
+     * Getter for the destination.
+     * @return the destination of the pawn, or null for a barrier.
+     */
+    public Position getTo() {
+        return this.to;
+    }
+
+    /**
+     * Getter for the slot of the barrier.
+     * @return the slot of the barrier, or {@link WallSlot#NONE} for a move of pawn.
+     */
+    public int getSlot() {
+        return this.slot;
+    }
+
+    /**
+     * Returns a string representation of the move.
+     * @return A string representation of the move, with the player and either the destination or the anchor and orientation of the barrier.
+     */
+    @Override
+    public String toString() {
+        if (this.type == MoveType.PAWN) {
+            return "Move{player=" + this.playerIndex + ", from=" + this.from + ", to=" + this.to + "}";
+        }
+        return "Move{player=" + this.playerIndex + ", barrier=" + WallSlot.getX(this.slot) + "," + WallSlot.getY(this.slot) + (WallSlot.isHorizontal(this.slot) ? " horizontal" : " vertical") + "}";
+    }
+}
@@ -1,17 +1,17 @@
 package gameObjects;
 
+import constant.GameProperties;
+import enumeration.BarrierResult;
 import enumeration.Color;
 import enumeration.Direction;
-import exception.BadDistanceException;
-import exception.BadWeightException;
-import exception.UnknownDirectionException;
-import exception.BadPositionException;
+import enumeration.MoveResult;
+import graph.GridTopology;
 import graph.Position;
 import graph.Edge;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Class that represents a player.
@@ -19,6 +19,22 @@ import java.util.Map;
  * A player can move and place a barrier.
  */
 public class Player implements Serializable {
+
+    /**
+     * Version of the class in the saves of the first versions, which didn't declare it, so they can still be loaded.
+     */
+    private static final long serialVersionUID = -7946304332617109625L;
+
+    /**
+     * Maximum number of moves a player can have: 4 regular moves, or jumps, and 4 diagonal jumps
+     */
+    public static final int MAX_MOVES = 8;
+
+    /**
+     * Every direction, in the order of their ordinal
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
     /**
      * Name of the player
      * Its name will be displayed throughout the game
@@ -89,6 +105,7 @@ public class Player implements Serializable {
 
     /**
      * Sets the new position of the player
+     * It doesn't know the board, so the caller must also update the hash of the board with {@link Board#movePawn(Color, Position, Position)}
      * @param position new position
      */
     public void setPosition(Position position) {
@@ -97,21 +114,34 @@ public class Player implements Serializable {
 
     /**
      * Moves the player to location (x ; y) if it is valid
+     * Positions are immutable, so the player is given the interned Position of the destination instead of modifying the current one
      * @param x             x coordinate of the to-be location
      * @param y             y coordinate of the to-be location
      * @param board         game board
-     * @param playerList    list of all players on the board
      * @return Whether the player was moved or not
-     * @throws UnknownDirectionException if at some point, a direction is not valid
-     * @throws BadPositionException if x or y is lesser than 0
      */
-    public boolean move(int x, int y, Board board, List<Player> playerList) throws Exception {
-        if (this.isMoveValid(x, y, board, playerList)) {
-            this.position.move(x, y);
-            return true;
+    public boolean move(int x, int y, Board board) {
+        return this.tryMove(x, y, board).isValid();
+    }
+
+    /**
+     * Moves the player to location (x ; y) if it is valid, without throwing anything whatever the location
+     * It is the method to use for every mouse event or every node of a search
+     * @param x             x coordinate of the to-be location
+     * @param y             y coordinate of the to-be location
+     * @param board         game board
+     * @return VALID if the player was moved, the reason why he wasn't otherwise
+     */
+    public MoveResult tryMove(int x, int y, Board board) {
+        MoveResult result = this.checkMove(x, y, board);
+
+        if (result.isValid()) {
+            Position from = this.position;
+            this.position = board.getTopology().getPosition(y * board.getSize() + x);
+            board.movePawn(this.color, from, this.position);
         }
 
-        return false;
+        return result;
     }
 
     /**
@@ -120,341 +150,196 @@ public class Player implements Serializable {
      * @param f             second edge on which the barrier is placed
      * @param board         game board
      * @param playerList    list of all players on the board
-     * @param barrierList   list of all barriers on the board
      * @return Whether the barrier was placed or not
-     * @throws BadWeightException if the weight is negative
      */
-    public boolean placeBarrier(Edge e, Edge f, Board board, List<Player> playerList, List<Barrier> barrierList) throws BadWeightException {
-        if (this.isBarrierValid(e, f, board, playerList, barrierList)) {
-            e.setBidirectionalEdgeWeight(1, board);
-            f.setBidirectionalEdgeWeight(1, board);
-
-            barrierList.add(new Barrier(e, f, this));
-
-            return true;
-        }
-
-        return false;
+    public boolean placeBarrier(Edge e, Edge f, Board board, List<Player> playerList) {
+        return this.tryPlaceBarrier(e, f, board, playerList).isValid();
     }
 
     /**
-     * Checks if the move to (x ; y) is valid
-     * @param x             x coordinate of the destination
-     * @param y             y coordinate of the destination
+     * Places a barrier on edges e and f if it is valid, without throwing anything whatever the edges
+     * @param e             first edge on which the barrier is placed, or null if it is outside the board
+     * @param f             second edge on which the barrier is placed, or null if it is outside the board
      * @param board         game board
      * @param playerList    list of all players on the board
-     * @return if the move is valid
-     * @throws UnknownDirectionException if direction is not a valid direction
-     * @throws BadPositionException if x or y is lesser than 0
+     * @return VALID if the barrier was placed, the reason why it wasn't otherwise
      */
-    public boolean isMoveValid(int x, int y, Board board, List<Player> playerList) throws Exception {
-        Position playerPos = this.position;
-        int playerX = playerPos.getX();
-        int playerY = playerPos.getY();
-
-        if (isCellOccupied(x, y, playerList)) return false;
-
-        // Verifying where the user wants to go first, then checking if the requirements are met to avoid iterating through the user list on every iteration
-        // If the player wants to move diagonal: there has to be a player to jump over, and another behind, with no barriers stopping him
-        // If player wants to go north-west
-        if (x + 1 == playerX && y + 1 == playerY) {
-            return isDiagonalMoveValid(Direction.NORTH, Direction.WEST, playerList, board);
-        }
+    public BarrierResult tryPlaceBarrier(Edge e, Edge f, Board board, List<Player> playerList) {
+        BarrierResult result = this.checkBarrierPlacement(e, f, board, playerList);
+        if (result.isValid()) board.placeWall(WallSlot.of(e, f));
 
-        // If player wants to go north-east
-        if (x - 1 == playerX && y + 1 == playerY) {
-            return isDiagonalMoveValid(Direction.NORTH, Direction.EAST, playerList, board);
-        }
-
-        // If player wants to go south-east
-        if (x - 1 == playerX && y - 1 == playerY) {
-            return isDiagonalMoveValid(Direction.SOUTH, Direction.EAST, playerList, board);
-        }
-
-        // If player wants to go south-west
-        if (x + 1 == playerX && y - 1 == playerY) {
-            return isDiagonalMoveValid(Direction.SOUTH, Direction.WEST, playerList, board);
-        }
-
-        // If the player wants to move 2 cells in any direction: there has to be a player to jump over and no barriers to stop the player
-        // If player wants to go north
-        if (x == playerX && y + 2 == playerY) {
-            return isJumpingMoveValid(Direction.NORTH, playerList, board);
-        }
-
-        // If player wants to go east
-        if (x - 2 == playerX && y == playerY) {
-            return isJumpingMoveValid(Direction.EAST, playerList, board);
-        }
-
-        // If player wants to go south
-        if (x == playerX && y - 2 == playerY) {
-            return isJumpingMoveValid(Direction.SOUTH, playerList, board);
-        }
-
-        // If player wants to go west
-        if (x + 2 == playerX && y == playerY) {
-            return isJumpingMoveValid(Direction.WEST, playerList, board);
-        }
-
-        // If the player wants to move by a single adjacent cell
-        return checkAllRegularMoves(x, y, board);
+        return result;
     }
 
     /**
-     * Checks if cell at (x ; y) is occupied
-     * @param x             x coordinate of cell
-     * @param y             y coordinate of cell
+     * Places a barrier on a slot if it is valid, without throwing anything whatever the slot
+     * @param slot          slot of the barrier, see {@link WallSlot}
+     * @param board         game board
      * @param playerList    list of all players on the board
-     * @return if the cell is occupied
+     * @return VALID if the barrier was placed, the reason why it wasn't otherwise
      */
-    private boolean isCellOccupied(int x, int y, List<Player> playerList) {
-        for (Player p : playerList) {
-            if (p.getPosition().getX() == x && p.getPosition().getY() == y) return true;
-        }
+    public BarrierResult tryPlaceBarrier(int slot, Board board, List<Player> playerList) {
+        BarrierResult result = this.checkBarrierPlacement(slot, board, playerList);
+        if (result.isValid()) board.placeWall(slot);
 
-        return false;
+        return result;
     }
 
     /**
-     * Checks if a direction is filled with players for a distance
-     * @param direction     direction from the player to check
-     * @param distance      the amount of cells to check from the player
-     * @param playerList    list of all players to include in the check
-     * @return the presence of players in all the checked cells in the given direction
-     * @throws BadDistanceException if the distance is lesser than 1
-     * @throws UnknownDirectionException if the given direction doesn't exist
+     * Computes every cell the player can move to.
+     * A move is given by the adjacency list index of the destination, so it can be stored in an int array without any object:
+     * the steps to an adjacent cell, the jumps over a player, and the diagonal jumps when a jump is stopped by a barrier or another player.
+     * @param board         game board
+     * @return the adjacency list index of every destination, at most {@link #MAX_MOVES} of them
      */
-    private boolean checkDirection(Direction direction, int distance, List<Player> playerList) throws Exception {
-        if (distance < 1) throw new BadDistanceException("Distance has to be at least 1");
+    public int[] legalMoves(Board board) {
+        int[] moves = new int[MAX_MOVES];
+        return Arrays.copyOf(moves, this.legalMoves(board, moves));
+    }
 
+    /**
+     * Computes every cell the player can move to, writing them in a given array so a search can reuse the same array at every node.
+     * The other players are found in the occupancy grid of the board, which is kept up to date with their Positions,
+     * and the cells around the player in the tables of its topology, so every rule is a few lookups.
+     * @param board         game board
+     * @param moves         array receiving the adjacency list index of every destination, of length {@link #MAX_MOVES} at least
+     * @return the number of destinations written in the array
+     */
+    public int legalMoves(Board board, int[] moves) {
+        GridTopology topology = board.getTopology();
         int x = this.position.getX();
         int y = this.position.getY();
+        int index = this.position.toAdjacencyListIndex(board.getSize());
+        int count = 0;
 
-        switch (direction) {
-            case NORTH -> {
-                int checks = 0;
-
-                for (Player p : playerList) {
-                    for (int i = 1; i <= distance ; i++) {
-                        if (p.getPosition().getX() == x && p.getPosition().getY() + i == y) checks++;
-                    }
-                }
+        for (Direction d : DIRECTIONS) {
+            if (board.isBlocked(x, y, d)) continue;
 
-                return checks == distance;
+            // Regular move to the adjacent cell
+            int neighbour = topology.getNeighbour(index, d);
+            if (!board.isOccupied(neighbour)) {
+                moves[count++] = neighbour;
+                continue;
             }
 
-            case WEST -> {
-                int checks = 0;
-
-                for (Player p : playerList) {
-                    for (int i = 1; i <= distance ; i++) {
-                        if (p.getPosition().getX() + i == x && p.getPosition().getY() == y) checks++;
-                    }
-                }
-
-                return checks == distance;
+            // There is a player to jump over, the jump needs no barrier behind him and a free cell
+            boolean isBlockedBehind = board.isBlocked(x + d.getXOffset(), y + d.getYOffset(), d);
+            if (!isBlockedBehind && !board.isOccupied(topology.getJump(index, d))) {
+                moves[count++] = topology.getJump(index, d);
+                continue;
             }
 
-            case SOUTH -> {
-                int checks = 0;
+            // The jump is stopped by a barrier or a second player, so the player can go on either side of the one he jumps over
+            for (Direction side : DIRECTIONS) {
+                if ((side.ordinal() - d.ordinal()) % 2 == 0 || board.isBlocked(x + d.getXOffset(), y + d.getYOffset(), side)) continue;
 
-                for (Player p : playerList) {
-                    for (int i = 1; i <= distance ; i++) {
-                        if (p.getPosition().getX() == x && p.getPosition().getY() - i == y) checks++;
-                    }
-                }
-
-                return checks == distance;
+                int diagonal = topology.getNeighbour(neighbour, side);
+                // A diagonal cell can be reached by turning after either direction, so it may already be there
+                if (!board.isOccupied(diagonal) && !contains(moves, count, diagonal)) moves[count++] = diagonal;
             }
-
-            case EAST -> {
-                int checks = 0;
-
-                for (Player p : playerList) {
-                    for (int i = 1; i <= distance ; i++) {
-                        if (p.getPosition().getX() - i == x && p.getPosition().getY() == y) checks++;
-                    }
-                }
-
-                return checks == distance;
-            }
-
-            default -> throw new UnknownDirectionException("This direction does not exist. Valid directions are NORTH, EAST, SOUTH, EAST");
         }
+
+        return count;
     }
 
     /**
-     * For location (x ; y), checks if there is a barrier in one direction
-     * The border of the board is considered as a barrier
-     * @param direction direction from the location to check
-     * @param x         x coordinate of the location
-     * @param y         y coordinate of the location
-     * @param board     game board
-     * @return the presence of a barrier in the given direction
-     * @throws UnknownDirectionException if direction is not a valid direction
-     * @throws BadPositionException if x or y is lesser than 0
+     * Checks if the first elements of an array contain a value
+     * @param array     the array
+     * @param count     number of elements to look at
+     * @param value     the value
+     * @return if the value is one of the count first elements
      */
-    private boolean checkBarrier(Direction direction, int x, int y, Board board) throws Exception {
-        Map<Direction, Edge> neighbours = (new Position(x, y)).getNeighbourEdges(board);
-        return !neighbours.containsKey(direction) || neighbours.get(direction).getWeight() == 1;
+    private static boolean contains(int[] array, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (array[i] == value) return true;
+        }
+
+        return false;
     }
 
     /**
-     * For location at Position p, checks if there is a barrier in one direction
-     * The border of the board is considered as a barrier
-     * @param direction direction from the location to check
-     * @param p         position from where to check
-     * @param board     game board
-     * @return the presence of a barrier in the given direction
+     * Checks if the move to (x ; y) is valid
+     * @param x             x coordinate of the destination
+     * @param y             y coordinate of the destination
+     * @param board         game board
+     * @return if the move is valid
      */
-    private boolean checkBarrier(Direction direction, Position p, Board board) {
-        Map<Direction, Edge> neighbours = p.getNeighbourEdges(board);
-        return !neighbours.containsKey(direction) || neighbours.get(direction).getWeight() == 1;
+    public boolean isMoveValid(int x, int y, Board board) {
+        return this.checkMove(x, y, board).isValid();
     }
 
     /**
-     * Checks if a movement in the diagonal d1-d2 is valid
-     * @param d1            the first direction of the movement
-     * @param d2            the second direction of the movement
-     * @param playerList    list of all players on the board
+     * Checks if the move to (x ; y) is valid, and why it isn't
+     * The other players are read from the occupancy grid of the board, so the list of players isn't needed
+     * @param x             x coordinate of the destination
+     * @param y             y coordinate of the destination
      * @param board         game board
-     * @return if the given diagonal move is valid
-     * @throws UnknownDirectionException if direction is not a valid direction
-     * @throws BadPositionException if x or y is lesser than 0
+     * @return VALID if the move is valid, the reason why it isn't otherwise
      */
-    private boolean isDiagonalMoveValid(Direction d1, Direction d2, List<Player> playerList, Board board) throws Exception {
-        int x = this.position.getX();
-        int y = this.position.getY();
+    public MoveResult checkMove(int x, int y, Board board) {
+        int size = board.getSize();
+        if (x < 0 || y < 0 || x >= size || y >= size) return MoveResult.OUT_OF_BOARD;
+        if (board.isOccupied(y * size + x)) return MoveResult.OCCUPIED;
 
-        // Set the offset for each direction, NORTH being 0 and counting clockwise
-        int xOffsetD1 = new int[]{0, 1, 0, -1}[d1.ordinal()];
-        int yOffsetD1 = new int[]{-1, 0, 1, 0}[d1.ordinal()];
-        int xOffsetD2 = new int[]{0, 1, 0, -1}[d2.ordinal()];
-        int yOffsetD2 = new int[]{-1, 0, 1, 0}[d2.ordinal()];
-
-        return (
-            ((checkDirection(d1, 2, playerList) ||                                                                              // Whether there are 2 players back to back in a single direction...
-                checkDirection(d1, 1, playerList) && checkBarrier(d1, x + xOffsetD1, y + yOffsetD1, board)) &&            //...or there is a barrier behind a single player
-                !checkBarrier(d1, x, y, board) &&                                                                                       // Checking if there's no barrier in d1 directly from the Player
-                !checkBarrier(d2, x + xOffsetD1, y + yOffsetD1, board)) ||                                                        // Checking barrier in d2 after player has moved in d1
-            ((checkDirection(d2, 2, playerList) ||                                                                              // Now we repeat by inverting d2 and d1
-                checkDirection(d2, 1, playerList) && checkBarrier(d2, x + xOffsetD2, y + yOffsetD2, board)) &&
-                !checkBarrier(d2, x, y, board) &&
-                !checkBarrier(d1, x + xOffsetD2, y + yOffsetD2, board))
-        );
+        int[] moves = new int[MAX_MOVES];
+        return contains(moves, this.legalMoves(board, moves), y * size + x) ? MoveResult.VALID : MoveResult.UNREACHABLE;
     }
 
     /**
-     * Checks if a move jumping over another player is valid
-     * @param d             direction the player is moving in
-     * @param playerList    list of all players on the board
+     * Checks if placing a barrier on edges e and f is valid, and why it isn't
+     * @param e             first edge on which the barrier is placed, or null if it is outside the board
+     * @param f             second edge on which the barrier is placed, or null if it is outside the board
      * @param board         game board
-     * @return if the given jumping move is valid
-     * @throws UnknownDirectionException if direction is not a valid direction
+     * @param playerList    list of all players on the board
+     * @return VALID if the given barrier would be valid if placed, the first rule it breaks otherwise
      */
-    private boolean isJumpingMoveValid(Direction d, List<Player> playerList, Board board) throws Exception {
-        int x = this.position.getX();
-        int y = this.position.getY();
+    public BarrierResult checkBarrierPlacement(Edge e, Edge f, Board board, List<Player> playerList) {
+        // Check if there are less than twenty barriers
+        if (board.getBarrierCount() >= GameProperties.BARRIER_LIMIT) return BarrierResult.LIMIT_REACHED;
 
-        // Set the offset for each direction, NORTH being 0 and counting clockwise
-        int xOffset = new int[]{0, 1, 0, -1}[d.ordinal()];
-        int yOffset = new int[]{-1, 0, 1, 0}[d.ordinal()];
+        if (e == null || f == null) return BarrierResult.OUT_OF_BOARD;
 
-        return checkDirection(d, 1, playerList) && !checkBarrier(d, x, y, board) && !checkBarrier(d, x + xOffset, y + yOffset, board);
-    }
-
-    /**
-     * Checks if the movement to (destX ; destY) is a single cell movement, and not blocked by a barrier
-     * @param destX     x coordinate of destination
-     * @param destY     y coordinate of destination
-     * @param board     game board
-     * @return if the given regular move is valid
-     * @throws UnknownDirectionException if direction is not a valid direction
-     * @throws BadPositionException if x or y is lesser than 0
-     */
-    private boolean checkAllRegularMoves(int destX, int destY, Board board) throws Exception {
-        int playerX = this.position.getX();
-        int playerY = this.position.getY();
+        // We will get the Positions from smallest to biggest (in terms of adjacency list index)
+        Position[] ePositions = new Position[2];
+        e.normalizeEdgePositions(ePositions, board);
 
-        for (Direction d : Direction.values()) {
-            // Set the offset for each direction, NORTH being 0 and counting clockwise
-            int xOffset = new int[]{0, 1, 0, -1}[d.ordinal()];
-            int yOffset = new int[]{-1, 0, 1, 0}[d.ordinal()];
+        Position[] fPositions = new Position[2];
+        f.normalizeEdgePositions(fPositions, board);
 
-            if (!checkBarrier(d, playerX, playerY, board) && destX == playerX + xOffset && destY == playerY + yOffset) return true;
-        }
+        // Check if the barrier is two adjacent edges
+        boolean isHorizontalBarrier = ePositions[0].checkDistance(fPositions[0], 1, 0) && ePositions[1].checkDistance(fPositions[1], 1, 0);
+        boolean isVerticalBarrier = ePositions[0].checkDistance(fPositions[0], 0, 1) && ePositions[1].checkDistance(fPositions[1], 0, 1);
+        if (!isHorizontalBarrier && !isVerticalBarrier) return BarrierResult.NOT_ADJACENT;
 
-        return false;
+        // The edges are two adjacent sides of cells, so they are the slot of a barrier
+        return this.checkBarrierPlacement(WallSlot.of(e, f), board, playerList);
     }
 
     /**
-     * Checks if placing a barrier on edges e and f is valid
-     * @param e             first edge on which the barrier is placed
-     * @param f             second edge on which the barrier is placed
+     * Checks if placing a barrier on a slot is valid, and why it isn't
+     * @param slot          slot of the barrier, see {@link WallSlot}
      * @param board         game board
      * @param playerList    list of all players on the board
-     * @param barrierList   list of all barriers on the board
-     * @return if the given barrier would be valid if placed
-     * @throws BadWeightException if the weight is negative
+     * @return VALID if the given barrier would be valid if placed, the first rule it breaks otherwise
      */
-    private boolean isBarrierValid(Edge e, Edge f, Board board, List<Player> playerList, List<Barrier> barrierList) throws BadWeightException {
-        final int BARRIER_LIMIT = 20;
-
+    public BarrierResult checkBarrierPlacement(int slot, Board board, List<Player> playerList) {
         // Check if there are less than twenty barriers
-        if (barrierList.size() >= BARRIER_LIMIT) return false;
+        if (board.getBarrierCount() >= GameProperties.BARRIER_LIMIT) return BarrierResult.LIMIT_REACHED;
 
-        // We will get the Positions from smallest to biggest (in terms of adjacency list index)
-        Position[] ePositions = new Position[2];
-        int eIndex = e.normalizeEdgePositions(ePositions, board);
+        if (!WallSlot.isInside(slot, board.getSize())) return BarrierResult.OUT_OF_BOARD;
 
-        Position[] fPositions = new Position[2];
-        int fIndex = f.normalizeEdgePositions(fPositions, board);
+        int x = WallSlot.getX(slot);
+        int y = WallSlot.getY(slot);
+        Direction side = WallSlot.getSide(slot);
 
-        // Check if the barrier is two adjacent edges
-        boolean isHorizontalBarrier = ePositions[0].checkDistance(fPositions[0], 1, 0) && ePositions[1].checkDistance(fPositions[1], 1, 0);
-        boolean isVerticalBarrier = ePositions[0].checkDistance(fPositions[0], 0, 1) && ePositions[1].checkDistance(fPositions[1], 0, 1);
-        if (!isHorizontalBarrier && !isVerticalBarrier) return false;
-
-        // Check if the barrier doesn't overlap another in the same orientation i.e. one of the edge is already a barrier
-        if (e.getWeight() == 1 || f.getWeight() == 1) return false;
-
-        // Check if the barrier doesn't cross another 2-long barrier (in a + shape)
-        // We have to check that there is no barrier on the right of ePositions[0] and ePositions[1] (or at the bottom if a vertical barrier)
-        // but also that if there are two, they belong to two separate barriers (in a long + shape, kind of)
-        Map<Direction, Edge> neighbourList1 = ePositions[0].getNeighbourEdges(board);
-        Map<Direction, Edge> neighbourList2 = ePositions[1].getNeighbourEdges(board);
-
-        if (
-            isHorizontalBarrier &&
-                checkBarrier(Direction.EAST, ePositions[0], board) &&
-                checkBarrier(Direction.EAST, ePositions[1], board) &&
-                (barrierList.stream().anyMatch(b -> (
-                    b.getEdge1() == neighbourList1.get(eIndex < fIndex ? Direction.EAST : Direction.WEST) &&
-                        b.getEdge2() == neighbourList2.get(eIndex < fIndex ? Direction.EAST : Direction.WEST) ||
-                    b.getEdge1() == neighbourList2.get(eIndex < fIndex ? Direction.EAST : Direction.WEST) &&
-                        b.getEdge2() == neighbourList1.get(eIndex < fIndex ? Direction.EAST : Direction.WEST)
-                ))) ||
-            isVerticalBarrier &&
-                checkBarrier(Direction.SOUTH, ePositions[0], board) &&
-                checkBarrier(Direction.SOUTH, ePositions[1], board) &&
-                (barrierList.stream().anyMatch(b -> (
-                    b.getEdge1() == neighbourList1.get(eIndex < fIndex ? Direction.SOUTH : Direction.NORTH) &&
-                        b.getEdge2() == neighbourList2.get(eIndex < fIndex ? Direction.SOUTH : Direction.NORTH) ||
-                    b.getEdge1() == neighbourList2.get(eIndex < fIndex ? Direction.SOUTH : Direction.NORTH) &&
-                        b.getEdge2() == neighbourList1.get(eIndex < fIndex ? Direction.SOUTH : Direction.NORTH)
-                )))
-        ) return false;
+        // Check if the barrier doesn't overlap another in the same orientation i.e. one of its sides is already a barrier
+        boolean isSecondSideWall = WallSlot.isHorizontal(slot) ? board.getWalls().isWall(x + 1, y, side) : board.getWalls().isWall(x, y + 1, side);
+        if (board.getWalls().isWall(x, y, side) || isSecondSideWall) return BarrierResult.OVERLAP;
+
+        // Check if the barrier doesn't cross another 2-long barrier (in a + shape), i.e. if another barrier has the same centre
+        if (board.getWallCentre(x, y) != null) return BarrierResult.CROSSING;
 
         // Check if the barrier doesn't cut any player from its goal
-        // Temporarily accept the barriers as valid to check if they would be
-        e.setBidirectionalEdgeWeight(1, board);
-        f.setBidirectionalEdgeWeight(1, board);
-        boolean isGameStillPossible = !board.checkPath(playerList).containsValue(false);
-        // Remove them
-        e.setBidirectionalEdgeWeight(0, board);
-        f.setBidirectionalEdgeWeight(0, board);
-
-        return isGameStillPossible;
+        return board.keepsEveryPath(slot, playerList) ? BarrierResult.VALID : BarrierResult.CUTS_PATH;
     }
 }
\ No newline at end of file
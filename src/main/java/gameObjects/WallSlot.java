@@ -0,0 +1,103 @@
+package gameObjects;
+
+import enumeration.Direction;
+import graph.Edge;
+
+/**
+ * WallSlot packs the place of a barrier in a single int: the coordinates of its anchor and its orientation.
+ * The anchor of a barrier is the top left cell of the 2x2 block of cells it separates:
+ * a horizontal barrier anchored on (x,y) is on the south side of (x,y) and (x+1,y), a vertical one on the east side of (x,y) and (x,y+1).
+ * <p>
+ * The bit 0 is the orientation (0 for horizontal, 1 for vertical), the bits 1 to 15 are x and the bits 16 to 30 are y.
+ * The packing doesn't depend on the size of the board, so a slot means the same thing on every board it fits in.
+ */
+public final class WallSlot {
+
+    /**
+     * Slot given when there is no barrier, for example for a click outside the board.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Mask of a coordinate once shifted down.
+     */
+    private static final int COORDINATE_MASK = 0x7FFF;
+
+    /**
+     * The constructor is useless for this class because it only contains static methods.
+     */
+    private WallSlot(){}
+
+    /**
+     * Gives the slot of a barrier.
+     * @param x          x coordinate of the anchor.
+     * @param y          y coordinate of the anchor.
+     * @param horizontal true for a horizontal barrier, false for a vertical one.
+     * @return the slot of the barrier.
+     */
+    public static int of(int x, int y, boolean horizontal) {
+        return (y << 16) | (x << 1) | (horizontal ? 0 : 1);
+    }
+
+    /**
+     * Gives the slot of the barrier on two edges.
+     * The anchor is found from the coordinates of the cells of the edges, whatever their direction and their order.
+     * The edges must be two adjacent sides of cells, see {@link Player#checkBarrierPlacement(Edge, Edge, Board, java.util.List)}.
+     * @param e first edge of the barrier.
+     * @param f second edge of the barrier.
+     * @return the slot of the barrier.
+     */
+    public static int of(Edge e, Edge f) {
+        int x = Math.min(Math.min(e.getSource().getX(), e.getTarget().getX()), Math.min(f.getSource().getX(), f.getTarget().getX()));
+        int y = Math.min(Math.min(e.getSource().getY(), e.getTarget().getY()), Math.min(f.getSource().getY(), f.getTarget().getY()));
+
+        // The edges of a horizontal barrier go from a cell to the one below or above it
+        return of(x, y, e.getSource().getX() == e.getTarget().getX());
+    }
+
+    /**
+     * Gives the x coordinate of the anchor of a barrier.
+     * @param slot the slot of the barrier.
+     * @return the x coordinate of its anchor.
+     */
+    public static int getX(int slot) {
+        return (slot >>> 1) & COORDINATE_MASK;
+    }
+
+    /**
+     * Gives the y coordinate of the anchor of a barrier.
+     * @param slot the slot of the barrier.
+     * @return the y coordinate of its anchor.
+     */
+    public static int getY(int slot) {
+        return (slot >>> 16) & COORDINATE_MASK;
+    }
+
+    /**
+     * Gives the orientation of a barrier.
+     * @param slot the slot of the barrier.
+     * @return true if the barrier is horizontal, false if it is vertical.
+     */
+    public static boolean isHorizontal(int slot) {
+        return (slot & 1) == 0;
+    }
+
+    /**
+     * Gives the sides of cells a barrier is on.
+     * @param slot the slot of the barrier.
+     * @return SOUTH for a horizontal barrier, EAST for a vertical one.
+     */
+    public static Direction getSide(int slot) {
+        return isHorizontal(slot) ? Direction.SOUTH : Direction.EAST;
+    }
+
+    /**
+     * Checks if a barrier fits on a board: both its cells on each side must be inside the board.
+     * @param slot the slot of the barrier.
+     * @param size size of the board.
+     * @return true if the anchor is in the first size-1 rows and columns.
+     */
+    public static boolean isInside(int slot, int size) {
+        return slot >= 0 && getX(slot) < size - 1 && getY(slot) < size - 1;
+    }
+}
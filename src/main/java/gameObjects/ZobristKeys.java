@@ -0,0 +1,76 @@
+package gameObjects;
+
+import enumeration.Color;
+import enumeration.Direction;
+import graph.BridgeIndex;
+
+/**
+ * ZobristKeys gives the random keys used to hash the state of a game.
+ * Every element of the state (a side of a cell with a barrier, a pawn on a cell, the player whose turn it is) has its own key,
+ * and the hash of a state is the XOR of the keys of its elements.
+ * So the hash is updated in constant time when an element is added or removed, by XORing its key.
+ * <p>
+ * The keys aren't stored: they are computed by mixing the number of the element, so they are the same for every board size and every run.
+ */
+public final class ZobristKeys {
+
+    /**
+     * The constructor is useless for this class because it only contains static methods.
+     */
+    private ZobristKeys(){}
+
+    /**
+     * Gives the key of a barrier on a side of a cell.
+     * @param slot slot of the side of the cell, see {@link graph.BridgeIndex#edgeSlot(int, int, enumeration.Direction, int)}.
+     * @return the key of the barrier.
+     */
+    public static long wall(int slot) {
+        return mix(slot + 1);
+    }
+
+    /**
+     * Gives the key of a barrier placed on the board, the XOR of the keys of the two sides of cells it is on.
+     * @param slot the slot of the barrier, inside the board, see {@link WallSlot}.
+     * @param size size of the board.
+     * @return the key of the barrier.
+     */
+    public static long barrier(int slot, int size) {
+        int x = WallSlot.getX(slot);
+        int y = WallSlot.getY(slot);
+        Direction side = WallSlot.getSide(slot);
+        int second = WallSlot.isHorizontal(slot) ? BridgeIndex.edgeSlot(x + 1, y, side, size) : BridgeIndex.edgeSlot(x, y + 1, side, size);
+        return wall(BridgeIndex.edgeSlot(x, y, side, size)) ^ wall(second);
+    }
+
+    /**
+     * Gives the key of a pawn on a cell.
+     * @param color color of the pawn.
+     * @param cell  adjacency list index of the cell.
+     * @return the key of the pawn on this cell.
+     */
+    public static long pawn(Color color, int cell) {
+        // The color goes above the 32 bits of the cell, so the keys never collide with the ones of the barriers
+        return mix(((long) (color.ordinal() + 1) << 32) | cell);
+    }
+
+    /**
+     * Gives the key of the player whose turn it is.
+     * @param playerIndex index of the player in the list of players.
+     * @return the key of this player's turn.
+     */
+    public static long sideToMove(int playerIndex) {
+        return mix((long) (Color.values().length + 1 + playerIndex) << 32);
+    }
+
+    /**
+     * Mixes the bits of a number, so that close numbers give unrelated keys.
+     * It is the finalizer of the SplitMix64 generator.
+     * @param value the number to mix.
+     * @return the mixed number.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,168 @@
+package graph;
+
+import enumeration.Color;
+import gameObjects.Player;
+
+import java.util.List;
+
+/**
+ * BitParallelReachability finds the cells that can reach a side of the board by flooding whole rows at once.
+ * Every row of the board is a long, the bit x being the cell x of the row, so it only works on boards of size 64 or less.
+ * The flood starts from the side to reach and spreads along the rows with shifts and masks built from the barriers,
+ * then between the rows, until nothing changes.
+ */
+public final class BitParallelReachability {
+
+    /**
+     * Biggest board size supported, a row having to fit in a long.
+     */
+    public static final int MAX_SIZE = 64;
+
+    /**
+     * The constructor is useless for this class because it only contains static methods.
+     */
+    private BitParallelReachability(){}
+
+    /**
+     * Checks if a board can be flooded by this class.
+     * @param size size of the board.
+     * @return true if a row of the board fits in a long.
+     */
+    public static boolean supports(int size) {
+        return size > 0 && size <= MAX_SIZE;
+    }
+
+    /**
+     * Finds every cell that can reach the side a player of a given color needs to go to.
+     * @param walls bitboard of the barriers, of size 64 or less.
+     * @param color color of the player.
+     * @return one long per row, the bit x of the row y being set if the cell (x,y) can reach the side.
+     */
+    public static long[] flood(WallBitboard walls, Color color) {
+        int size = walls.getSize();
+        long full = size == MAX_SIZE ? -1L : (1L << size) - 1;
+
+        // For every row, the cells that can go east, and the cells that can go south
+        long[] eastOpen = new long[size];
+        long[] southOpen = new long[size];
+        for (int y = 0; y < size; y++) {
+            eastOpen[y] = ~walls.getVerticalWord(y) & (full >>> 1);
+            southOpen[y] = y < size - 1 ? ~walls.getHorizontalWord(y) & full : 0;
+        }
+
+        // The side to reach is where the flood starts
+        long[] reached = new long[size];
+        switch (color) {
+            case BLUE -> reached[0] = full;
+            case YELLOW -> reached[size - 1] = full;
+            case GREEN -> {
+                for (int y = 0; y < size; y++) reached[y] = 1L;
+            }
+            case RED -> {
+                for (int y = 0; y < size; y++) reached[y] = 1L << (size - 1);
+            }
+        }
+
+        for (int y = 0; y < size; y++) {
+            reached[y] = fillRow(reached[y], eastOpen[y]);
+        }
+
+        // We sweep down then up, each row taking what the rows above and below give it, until nothing changes
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int y = 0; y < size; y++) {
+                changed |= spreadRow(reached, eastOpen, southOpen, y, size);
+            }
+            for (int y = size - 1; y >= 0; y--) {
+                changed |= spreadRow(reached, eastOpen, southOpen, y, size);
+            }
+        }
+
+        return reached;
+    }
+
+    /**
+     * Checks which players can reach the side they need to go to.
+     * There is one flood per color, shared by the players of this color.
+     * @param walls   bitboard of the barriers, of size 64 or less.
+     * @param players the list of players.
+     * @return a bitmask, the bit i being set if the player i of the list has a path.
+     */
+    public static int reachableMask(WallBitboard walls, List<Player> players) {
+        long[][] floods = new long[Color.values().length][];
+        int mask = 0;
+
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            int colorIndex = p.getColor().ordinal();
+            if (floods[colorIndex] == null) {
+                floods[colorIndex] = flood(walls, p.getColor());
+            }
+            if ((floods[colorIndex][p.getPosition().getY()] & (1L << p.getPosition().getX())) != 0) {
+                mask |= 1 << i;
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * Spreads the flood into a row from its neighbouring rows, then along the row.
+     * @param reached   reached cells of every row.
+     * @param eastOpen  cells of every row that can go east.
+     * @param southOpen cells of every row that can go south.
+     * @param y         index of the row.
+     * @param size      size of the board.
+     * @return true if new cells of the row have been reached.
+     */
+    private static boolean spreadRow(long[] reached, long[] eastOpen, long[] southOpen, int y, int size) {
+        long row = reached[y];
+        if (y > 0) row |= reached[y - 1] & southOpen[y - 1];
+        if (y < size - 1) row |= reached[y + 1] & southOpen[y];
+
+        // A row is always stored already filled, so if nothing came from the other rows there is nothing to spread
+        if (row == reached[y]) return false;
+        reached[y] = fillRow(row, eastOpen[y]);
+        return true;
+    }
+
+    /**
+     * Spreads the reached cells of a row to the east and to the west, as far as the barriers allow.
+     * It is an occluded fill: each step doubles the distance covered, so 6 steps are enough for 64 cells.
+     * @param row      reached cells of the row.
+     * @param eastOpen cells of the row that can go east.
+     * @return every cell of the row connected to a reached cell.
+     */
+    private static long fillRow(long row, long eastOpen) {
+        // Going east, the cell x can be entered from x-1 if x-1 can go east
+        long pass = eastOpen << 1;
+        row |= pass & (row << 1);
+        pass &= pass << 1;
+        row |= pass & (row << 2);
+        pass &= pass << 2;
+        row |= pass & (row << 4);
+        pass &= pass << 4;
+        row |= pass & (row << 8);
+        pass &= pass << 8;
+        row |= pass & (row << 16);
+        pass &= pass << 16;
+        row |= pass & (row << 32);
+
+        // Going west, the cell x can be entered from x+1 if x can go east
+        pass = eastOpen;
+        row |= pass & (row >>> 1);
+        pass &= pass >>> 1;
+        row |= pass & (row >>> 2);
+        pass &= pass >>> 2;
+        row |= pass & (row >>> 4);
+        pass &= pass >>> 4;
+        row |= pass & (row >>> 8);
+        pass &= pass >>> 8;
+        row |= pass & (row >>> 16);
+        pass &= pass >>> 16;
+        row |= pass & (row >>> 32);
+
+        return row;
+    }
+}
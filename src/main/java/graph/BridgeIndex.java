@@ -0,0 +1,245 @@
+package graph;
+
+import enumeration.Color;
+import enumeration.Direction;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * BridgeIndex knows which edges are critical for the players of a given color,
+ * i.e. which edges, once blocked, can disconnect a cell from the side these players need to reach.
+ * <p>
+ * It is built with an iterative Depth First Search starting from a virtual node linked to every cell of the side.
+ * Every edge that isn't in the search tree gets a random label, and every edge of the tree gets the XOR of the labels of the edges going over it.
+ * An edge of the tree whose label is 0 is a bridge: blocking it cuts its subtree from the side.
+ * Two edges with the same label form a cut pair: blocking both cuts the part of the tree between them.
+ * This is how we handle a barrier, which blocks two edges at once.
+ */
+public class BridgeIndex {
+
+    /**
+     * Value of the children array for the edges that aren't in the search tree.
+     */
+    private static final int NOT_IN_TREE = -1;
+
+    /**
+     * Every direction, in the order of their ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Graph representing the board.
+     */
+    private final EdgeWeightedGraph graph;
+    /**
+     * Color of the players whose side we look at.
+     */
+    private final Color color;
+    /**
+     * Size of the board.
+     */
+    private final int size;
+    /**
+     * Time at which every cell has been discovered by the search, or -1 if it can't reach the side.
+     */
+    private final int[] discovery;
+    /**
+     * Biggest discovery time of the subtree of every cell.
+     * A cell c is in the subtree of a cell s if discovery[s] &lt;= discovery[c] &lt;= subtreeEnd[s].
+     */
+    private final int[] subtreeEnd;
+    /**
+     * Label of every edge, indexed by edge slot (see {@link #edgeSlot(int, int, Direction, int)}).
+     */
+    private final long[] labels;
+    /**
+     * For every edge of the search tree, the cell at its lower end, indexed by edge slot.
+     */
+    private final int[] children;
+    /**
+     * Signature of the barriers of the board when the index was built.
+     */
+    private long signature;
+
+    /**
+     * Constructor method for the BridgeIndex class.
+     * The index is empty until {@link #rebuild(long)} is called.
+     * @param graph graph representing the board.
+     * @param color color of the players.
+     */
+    public BridgeIndex(EdgeWeightedGraph graph, Color color) {
+        this.graph = graph;
+        this.color = color;
+        this.size = graph.getSize();
+        this.discovery = new int[this.size * this.size + 1];
+        this.subtreeEnd = new int[this.size * this.size + 1];
+        this.labels = new long[this.size * this.size * 2];
+        this.children = new int[this.size * this.size * 2];
+    }
+
+    /**
+     * Gives the slot of the edge leaving the cell (x,y) in a direction.
+     * Both directions of an edge have the same slot: the slot of the edge between (x,y) and (x,y+1) is y*size + x,
+     * and the slot of the edge between (x,y) and (x+1,y) is size*size + y*size + x.
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction direction of the edge.
+     * @param size      size of the board.
+     * @return the slot of the edge.
+     */
+    public static int edgeSlot(int x, int y, Direction direction, int size) {
+        return switch (direction) {
+            case NORTH -> (y - 1) * size + x;
+            case SOUTH -> y * size + x;
+            case WEST -> size * size + y * size + x - 1;
+            case EAST -> size * size + y * size + x;
+        };
+    }
+
+    /**
+     * Gives the slot of an edge of the graph.
+     * @param edge the edge.
+     * @param size size of the board.
+     * @return the slot of the edge.
+     */
+    public static int edgeSlot(Edge edge, int size) {
+        Position source = edge.getSource();
+        return edgeSlot(source.getX(), source.getY(), source.directionTo(edge.getTarget()), size);
+    }
+
+    /**
+     * Getter for the signature.
+     * @return the signature of the barriers of the board when the index was built.
+     */
+    public long getSignature() {
+        return this.signature;
+    }
+
+    /**
+     * Checks if blocking two edges can disconnect a cell from the side.
+     * If it returns false, the cell is guaranteed to still have a path after the two edges are blocked.
+     * @param slot1 slot of the first edge.
+     * @param slot2 slot of the second edge.
+     * @param cell  adjacency list index of the cell.
+     * @return true if the cell may lose its path to the side.
+     */
+    public boolean canCut(int slot1, int slot2, int cell) {
+        // A cell that already can't reach the side is left to the regular search
+        if (this.discovery[cell] < 0) return true;
+
+        int child1 = this.children[slot1];
+        int child2 = this.children[slot2];
+
+        // A bridge cuts its whole subtree
+        if (child1 != NOT_IN_TREE && this.labels[slot1] == 0 && this.isInSubtree(cell, child1)) return true;
+        if (child2 != NOT_IN_TREE && this.labels[slot2] == 0 && this.isInSubtree(cell, child2)) return true;
+
+        // Two edges with different labels never form a cut pair
+        if (this.labels[slot1] != this.labels[slot2] || this.labels[slot1] == 0) return false;
+
+        if (child1 != NOT_IN_TREE && child2 != NOT_IN_TREE) {
+            // Two edges of the tree: the part between the upper and the lower one is cut
+            int upper = this.discovery[child1] < this.discovery[child2] ? child1 : child2;
+            int lower = upper == child1 ? child2 : child1;
+            return this.isInSubtree(cell, upper) && !this.isInSubtree(cell, lower);
+        }
+
+        // An edge of the tree and the only edge going over it: the subtree of the edge of the tree is cut
+        int child = child1 != NOT_IN_TREE ? child1 : child2;
+        return child != NOT_IN_TREE && this.isInSubtree(cell, child);
+    }
+
+    /**
+     * Checks if a cell is in the subtree of another one.
+     * @param cell adjacency list index of the cell.
+     * @param root adjacency list index of the root of the subtree.
+     * @return true if the cell is in the subtree.
+     */
+    private boolean isInSubtree(int cell, int root) {
+        return this.discovery[root] <= this.discovery[cell] && this.discovery[cell] <= this.subtreeEnd[root];
+    }
+
+    /**
+     * Builds the index from the current barriers of the graph.
+     * @param signature signature of the barriers of the board, to know later if the index is still up to date.
+     */
+    public void rebuild(long signature) {
+        int cellCount = this.size * this.size;
+        // The virtual node linked to every cell of the side
+        int root = cellCount;
+        // Number of neighbours of the virtual node, and of the cells: 4 directions, plus the virtual node for the cells of the side
+        int rootDegree = cellCount;
+
+        Arrays.fill(this.discovery, -1);
+        Arrays.fill(this.children, NOT_IN_TREE);
+        Arrays.fill(this.labels, 0);
+
+        // XOR of the labels of the edges going over the edge between a node and its parent
+        long[] accumulated = new long[cellCount + 1];
+        int[] parents = new int[cellCount + 1];
+        int[] parentSlots = new int[cellCount + 1];
+        int[] stack = new int[cellCount + 1];
+        int[] iterators = new int[cellCount + 1];
+        SplittableRandom random = new SplittableRandom(signature);
+
+        int top = 0;
+        int time = 0;
+        stack[top] = root;
+        iterators[top] = 0;
+        parents[root] = -1;
+        this.discovery[root] = time++;
+
+        while (top >= 0) {
+            int node = stack[top];
+            int neighbour = -1;
+            int slot = -1;
+
+            // We look for the next neighbour of the node that isn't blocked
+            if (node == root) {
+                while (iterators[top] < rootDegree && neighbour < 0) {
+                    int cell = iterators[top]++;
+                    if (DistanceService.isGoal(cell % this.size, cell / this.size, this.size, this.color)) neighbour = cell;
+                }
+            } else {
+                int x = node % this.size;
+                int y = node / this.size;
+                while (iterators[top] < 5 && neighbour < 0) {
+                    int i = iterators[top]++;
+                    if (i == 4) {
+                        if (DistanceService.isGoal(x, y, this.size, this.color)) neighbour = root;
+                    } else if (!this.graph.isBlocked(x, y, DIRECTIONS[i])) {
+                        neighbour = node + DIRECTIONS[i].getYOffset() * this.size + DIRECTIONS[i].getXOffset();
+                        slot = edgeSlot(x, y, DIRECTIONS[i], this.size);
+                    }
+                }
+            }
+
+            if (neighbour < 0) {
+                // Every neighbour has been visited, the edge to the parent gets the labels of the subtree
+                this.subtreeEnd[node] = time - 1;
+                top--;
+                if (parents[node] >= 0) {
+                    accumulated[parents[node]] ^= accumulated[node];
+                    if (parentSlots[node] >= 0) this.labels[parentSlots[node]] = accumulated[node];
+                }
+            } else if (this.discovery[neighbour] < 0) {
+                // Edge of the tree
+                this.discovery[neighbour] = time++;
+                parents[neighbour] = node;
+                parentSlots[neighbour] = slot;
+                if (slot >= 0) this.children[slot] = neighbour;
+                stack[++top] = neighbour;
+                iterators[top] = 0;
+            } else if (neighbour != parents[node] && this.discovery[neighbour] < this.discovery[node]) {
+                // Edge going back to an ancestor, seen from its lower end
+                long label = random.nextLong();
+                accumulated[node] ^= label;
+                accumulated[neighbour] ^= label;
+                if (slot >= 0) this.labels[slot] = label;
+            }
+        }
+
+        this.signature = signature;
+    }
+}
@@ -0,0 +1,137 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * BucketQueue is a priority queue for small non-negative integer priorities.
+ * It is meant for priorities that never go below the last priority taken out,
+ * which is the case of the searches on the board: a cell is never given a priority lower than the cell being visited.
+ * <p>
+ * There is one bucket per priority, in a circular array: adding a value and taking the smallest one out don't compare anything,
+ * they only move the current bucket forward.
+ * The array grows when a priority is too far from the current one, so the biggest weight of the board doesn't need to be known in advance.
+ */
+public class BucketQueue {
+
+    /**
+     * Buckets of the queue, the bucket of a priority p being at index p &amp; mask.
+     * Every entry packs the priority in the upper 32 bits and the value in the lower 32 bits.
+     */
+    private long[][] buckets;
+    /**
+     * Number of entries in every bucket.
+     */
+    private int[] sizes;
+    /**
+     * Number of buckets minus 1, the number of buckets being a power of 2.
+     */
+    private int mask;
+    /**
+     * Priority of the current bucket, no entry has a lower priority.
+     * It only moves forward, unless a lower priority is added.
+     */
+    private int current;
+    /**
+     * Total number of entries.
+     */
+    private int count;
+
+    /**
+     * Constructor method for the BucketQueue class.
+     * @param span expected difference between the lowest and the highest priority in the queue at the same time.
+     */
+    public BucketQueue(int span) {
+        int bucketCount = Integer.highestOneBit(Math.max(span, 1) * 2 - 1);
+        this.buckets = new long[bucketCount][4];
+        this.sizes = new int[bucketCount];
+        this.mask = bucketCount - 1;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if there is no entry left.
+     */
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * Adds a value to the queue.
+     * @param priority priority of the value, a non-negative int.
+     * @param value    the value, a non-negative int.
+     */
+    public void add(int priority, int value) {
+        if (this.count == 0) {
+            this.current = priority;
+        } else if (priority < this.current) {
+            // The buckets must now cover the priorities from this one to the highest one, which is at most current + mask
+            this.grow(this.current - priority + this.mask + 1);
+            this.current = priority;
+        }
+        if (priority - this.current > this.mask) this.grow(priority - this.current + 1);
+
+        int bucket = priority & this.mask;
+        if (this.sizes[bucket] == this.buckets[bucket].length) {
+            this.buckets[bucket] = Arrays.copyOf(this.buckets[bucket], this.sizes[bucket] * 2);
+        }
+        this.buckets[bucket][this.sizes[bucket]++] = ((long) priority << 32) | value;
+        this.count++;
+    }
+
+    /**
+     * Takes out an entry of the lowest priority.
+     * The queue must not be empty.
+     * @return the entry, with the priority in the upper 32 bits and the value in the lower 32 bits.
+     */
+    public long poll() {
+        while (this.sizes[this.current & this.mask] == 0) {
+            this.current++;
+        }
+
+        int bucket = this.current & this.mask;
+        this.count--;
+        return this.buckets[bucket][--this.sizes[bucket]];
+    }
+
+    /**
+     * Gives the priority of an entry returned by {@link #poll()}.
+     * @param entry the entry.
+     * @return its priority.
+     */
+    public static int priority(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    /**
+     * Gives the value of an entry returned by {@link #poll()}.
+     * @param entry the entry.
+     * @return its value.
+     */
+    public static int value(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Makes the circular array bigger, putting every entry in its new bucket.
+     * @param span difference between the lowest and the highest priority the queue must hold.
+     */
+    private void grow(int span) {
+        long[][] oldBuckets = this.buckets;
+        int[] oldSizes = this.sizes;
+
+        int bucketCount = Integer.highestOneBit(span * 2 - 1);
+        this.buckets = new long[bucketCount][4];
+        this.sizes = new int[bucketCount];
+        this.mask = bucketCount - 1;
+
+        for (int i = 0; i < oldBuckets.length; i++) {
+            for (int j = 0; j < oldSizes[i]; j++) {
+                int bucket = priority(oldBuckets[i][j]) & this.mask;
+                if (this.sizes[bucket] == this.buckets[bucket].length) {
+                    this.buckets[bucket] = Arrays.copyOf(this.buckets[bucket], this.sizes[bucket] * 2);
+                }
+                this.buckets[bucket][this.sizes[bucket]++] = oldBuckets[i][j];
+            }
+        }
+    }
+}
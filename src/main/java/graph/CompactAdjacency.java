@@ -0,0 +1,152 @@
+package graph;
+
+import enumeration.Direction;
+
+import java.io.Serializable;
+
+/**
+ * CompactAdjacency stores the edges of the board in the compressed sparse row format.
+ * The edges leaving the cell of adjacency list index i are the entries offsets[i] to offsets[i+1]-1 of the targets and weights arrays.
+ * Inside a cell, the edges are sorted in the order of the directions, so a search visits the memory in order.
+ * <p>
+ * The offsets and the targets never change, they come from the {@link GridTopology} shared by every board of the same size.
+ * Only the weights belong to the board, and they are only allocated once an edge gets a weight other than 0,
+ * so creating a board costs almost nothing.
+ */
+public class CompactAdjacency implements Serializable {
+
+    /**
+     * Version of the class, to change when its saved form changes.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Size of the board.
+     */
+    private final int size;
+    /**
+     * Shared topology of the board.
+     * It isn't saved with the board, the one of the same size is taken back when the board is loaded.
+     */
+    private transient GridTopology topology;
+    /**
+     * Weight of every edge, 1 meaning there is a barrier on it, or null while every weight is 0.
+     * The weights are kept whole, a slower terrain can cost as much as any other edge of the graph.
+     */
+    private int[] weights;
+
+    /**
+     * Constructor method for the CompactAdjacency class.
+     * It links every cell to the cells on its top, right, bottom and left, with a weight of 0.
+     * @param size number of rows/columns of the board.
+     */
+    public CompactAdjacency(int size) {
+        this.size = size;
+        this.topology = GridTopology.of(size);
+    }
+
+    /**
+     * Getter for the topology, taking it back from the shared ones after the board has been loaded.
+     * @return the topology shared by every board of this size.
+     */
+    public GridTopology getTopology() {
+        if (this.topology == null) {
+            this.topology = GridTopology.of(this.size);
+        }
+        return this.topology;
+    }
+
+    /**
+     * Gives the index of the first edge of a cell.
+     * @param index adjacency list index of the cell.
+     * @return the index of its first edge in the targets and weights arrays.
+     */
+    public int getFirstEdge(int index) {
+        return this.getTopology().getFirstEdge(index);
+    }
+
+    /**
+     * Gives the index after the last edge of a cell.
+     * @param index adjacency list index of the cell.
+     * @return the index of the first edge of the next cell.
+     */
+    public int getEndEdge(int index) {
+        return this.getTopology().getEndEdge(index);
+    }
+
+    /**
+     * Gives the target of an edge.
+     * @param edge index of the edge.
+     * @return the adjacency list index of the target.
+     */
+    public int getTarget(int edge) {
+        return this.getTopology().getTarget(edge);
+    }
+
+    /**
+     * Gives the weight of an edge.
+     * @param edge index of the edge.
+     * @return the weight of the edge.
+     */
+    public int getWeight(int edge) {
+        return this.weights == null ? 0 : this.weights[edge];
+    }
+
+    /**
+     * Finds the edge between two cells.
+     * @param source adjacency list index of the source.
+     * @param target adjacency list index of the target.
+     * @return the index of the edge, or -1 if the cells aren't adjacent.
+     */
+    public int findEdge(int source, int target) {
+        return this.getTopology().findEdge(source, target);
+    }
+
+    /**
+     * Gives the edge leaving a cell in a direction, without scanning the edges of the cell.
+     * @param index     adjacency list index of the cell.
+     * @param direction direction of the edge.
+     * @return the index of the edge, or -1 on the border.
+     */
+    public int getEdge(int index, Direction direction) {
+        return this.getTopology().getEdge(index, direction);
+    }
+
+    /**
+     * Sets the weight of the edge between two cells, in both directions.
+     * Nothing happens if the cells aren't adjacent.
+     * @param source adjacency list index of the source.
+     * @param target adjacency list index of the target.
+     * @param weight new weight of the edge.
+     */
+    public void setBidirectionalWeight(int source, int target, int weight) {
+        int edge = this.findEdge(source, target);
+        int opposite = this.findEdge(target, source);
+        if (edge < 0 || opposite < 0) return;
+
+        if (this.weights == null) {
+            if (weight == 0) return;
+            this.weights = new int[this.getTopology().getEdgeCount()];
+        }
+
+        this.weights[edge] = weight;
+        this.weights[opposite] = weight;
+    }
+
+    /**
+     * Returns a string representation of the CompactAdjacency object.
+     * @return A string representation of the edges, one cell per line, with the target and the weight of every edge.
+     */
+    @Override
+    public String toString() {
+        StringBuilder display = new StringBuilder();
+        for (int i = 0; i < this.size * this.size; i++) {
+            display.append(i).append(" :");
+            for (int edge = this.getFirstEdge(i); edge < this.getEndEdge(i); edge++) {
+                display.append(' ').append(this.getTarget(edge)).append('/').append(this.getWeight(edge));
+            }
+            display.append("\n");
+        }
+        return display.toString();
+    }
+}
@@ -0,0 +1,281 @@
+package graph;
+
+import enumeration.Color;
+import enumeration.Direction;
+
+import java.util.Arrays;
+
+/**
+ * DistanceField stores, for every cell of the board, its distance to the side a player of a given color needs to reach.
+ * It is computed once with a Breadth First Search starting from every cell of the side,
+ * then it is repaired incrementally every time a barrier is added or removed: only the cells whose distance changes are visited again.
+ */
+public class DistanceField {
+
+    /**
+     * Distance used internally for the cells that can't reach the side.
+     */
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    /**
+     * Every direction, in the order of their ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Graph representing the board.
+     */
+    private final EdgeWeightedGraph graph;
+    /**
+     * Color of the player whose side we measure the distance to.
+     */
+    private final Color color;
+    /**
+     * Size of the board.
+     */
+    private final int size;
+    /**
+     * Distance of every cell to the side, indexed by adjacency list index.
+     */
+    private final int[] distances;
+    /**
+     * Queue used by the searches, allocated once.
+     */
+    private final int[] queue;
+    /**
+     * Cells whose distance is no longer justified after a barrier has been added.
+     */
+    private final boolean[] invalid;
+
+    /**
+     * Constructor method for the DistanceField class.
+     * It computes the distance of every cell with a Breadth First Search starting from every cell of the side.
+     * @param graph graph representing the board.
+     * @param color color of the player.
+     */
+    public DistanceField(EdgeWeightedGraph graph, Color color) {
+        this.graph = graph;
+        this.color = color;
+        this.size = graph.getSize();
+        this.distances = new int[this.size * this.size];
+        this.queue = new int[this.size * this.size];
+        this.invalid = new boolean[this.size * this.size];
+
+        this.recompute();
+    }
+
+    /**
+     * Getter for the color.
+     * @return the color of the player whose side we measure the distance to.
+     */
+    public Color getColor() {
+        return this.color;
+    }
+
+    /**
+     * Gives the distance of a cell to the side.
+     * @param index adjacency list index of the cell.
+     * @return the number of moves needed to reach the side, or {@link DistanceService#UNREACHABLE}.
+     */
+    public int getDistance(int index) {
+        return this.distances[index] == INFINITY ? DistanceService.UNREACHABLE : this.distances[index];
+    }
+
+    /**
+     * Gives the distance of a Position to the side.
+     * @param position the Position.
+     * @return the number of moves needed to reach the side, or {@link DistanceService#UNREACHABLE}.
+     */
+    public int getDistance(Position position) {
+        return this.getDistance(position.toAdjacencyListIndex(this.size));
+    }
+
+    /**
+     * Computes the distance of every cell from scratch.
+     */
+    public void recompute() {
+        Arrays.fill(this.distances, INFINITY);
+        int tail = 0;
+
+        for (int index = 0; index < this.distances.length; index++) {
+            if (DistanceService.isGoal(index % this.size, index / this.size, this.size, this.color)) {
+                this.distances[index] = 0;
+                this.queue[tail++] = index;
+            }
+        }
+
+        this.propagate(0, tail);
+    }
+
+    /**
+     * Repairs the distances after a barrier has been added or removed on one side of the cell (x,y).
+     * It must be called after the bitboard of the graph has been updated.
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction side of the cell.
+     * @param wall      true if a barrier has been added, false if it has been removed.
+     */
+    public void onWallChanged(int x, int y, Direction direction, boolean wall) {
+        int u = y * this.size + x;
+        int v = (y + direction.getYOffset()) * this.size + x + direction.getXOffset();
+
+        if (wall) {
+            // Distances can only increase, and only for the cells whose shortest paths all used this side
+            if (this.distances[u] == this.distances[v]) return;
+            this.invalidateFrom(this.distances[u] > this.distances[v] ? u : v);
+        } else {
+            // Distances can only decrease, starting from the cell on the far side of the removed barrier
+            if (this.lowerTo(u, this.distances[v])) {
+                this.queue[0] = u;
+                this.propagate(0, 1);
+            } else if (this.lowerTo(v, this.distances[u])) {
+                this.queue[0] = v;
+                this.propagate(0, 1);
+            }
+        }
+    }
+
+    /**
+     * Lowers the distance of a cell if going through a neighbour is shorter.
+     * @param index            adjacency list index of the cell.
+     * @param neighbourDistance distance of the neighbour.
+     * @return true if the distance of the cell has been lowered.
+     */
+    private boolean lowerTo(int index, int neighbourDistance) {
+        if (neighbourDistance == INFINITY || neighbourDistance + 1 >= this.distances[index]) return false;
+        this.distances[index] = neighbourDistance + 1;
+        return true;
+    }
+
+    /**
+     * Breadth First Search relaxing the distances from the cells already in the queue.
+     * The cells of the queue must be sorted by distance.
+     * @param head index of the first cell of the queue.
+     * @param tail index after the last cell of the queue.
+     */
+    private void propagate(int head, int tail) {
+        while (head < tail) {
+            int index = this.queue[head++];
+            int x = index % this.size;
+            int y = index / this.size;
+
+            for (Direction direction : DIRECTIONS) {
+                if (this.graph.isBlocked(x, y, direction)) continue;
+
+                int next = index + direction.getYOffset() * this.size + direction.getXOffset();
+                if (this.lowerTo(next, this.distances[index])) {
+                    this.queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if a cell still has a neighbour one step closer to the side, that isn't itself invalid.
+     * @param index adjacency list index of the cell.
+     * @return true if the distance of the cell is still justified.
+     */
+    private boolean hasSupport(int index) {
+        if (this.distances[index] == 0) return true;
+
+        int x = index % this.size;
+        int y = index / this.size;
+
+        for (Direction direction : DIRECTIONS) {
+            if (this.graph.isBlocked(x, y, direction)) continue;
+
+            int next = index + direction.getYOffset() * this.size + direction.getXOffset();
+            if (!this.invalid[next] && this.distances[next] == this.distances[index] - 1) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Repairs the distances after a barrier has been added next to a cell.
+     * First, we find every cell that lost all its shortest paths, going from a cell to the cells that were one step further.
+     * Then, we give these cells their new distance with a search that starts from their valid neighbours.
+     * @param start adjacency list index of the cell on the far side of the new barrier.
+     */
+    private void invalidateFrom(int start) {
+        if (this.distances[start] == INFINITY || this.hasSupport(start)) return;
+
+        // The queue is used as a stack to collect the invalid cells
+        int count = 0;
+        this.invalid[start] = true;
+        this.queue[count++] = start;
+
+        for (int i = 0; i < count; i++) {
+            int index = this.queue[i];
+            int x = index % this.size;
+            int y = index / this.size;
+
+            for (Direction direction : DIRECTIONS) {
+                if (this.graph.isBlocked(x, y, direction)) continue;
+
+                int next = index + direction.getYOffset() * this.size + direction.getXOffset();
+                if (!this.invalid[next] && this.distances[next] == this.distances[index] + 1 && !this.hasSupport(next)) {
+                    this.invalid[next] = true;
+                    this.queue[count++] = next;
+                }
+            }
+        }
+
+        // Every invalid cell gets a candidate distance from its valid neighbours
+        // We pack the candidate distance and the index in a long so that sorting them sorts by distance
+        long[] seeds = new long[count];
+        int seedCount = 0;
+        for (int i = 0; i < count; i++) {
+            int index = this.queue[i];
+            int candidate = INFINITY;
+            int x = index % this.size;
+            int y = index / this.size;
+
+            for (Direction direction : DIRECTIONS) {
+                if (this.graph.isBlocked(x, y, direction)) continue;
+
+                int next = index + direction.getYOffset() * this.size + direction.getXOffset();
+                if (!this.invalid[next] && this.distances[next] != INFINITY) {
+                    candidate = Math.min(candidate, this.distances[next] + 1);
+                }
+            }
+
+            if (candidate != INFINITY) seeds[seedCount++] = ((long) candidate << 32) | index;
+        }
+
+        for (int i = 0; i < count; i++) {
+            this.invalid[this.queue[i]] = false;
+            this.distances[this.queue[i]] = INFINITY;
+        }
+
+        Arrays.sort(seeds, 0, seedCount);
+
+        // We merge the sorted seeds with a FIFO queue, which stays sorted because every cell added is one step further than the current one
+        int seed = 0;
+        int head = 0;
+        int tail = 0;
+        while (seed < seedCount || head < tail) {
+            int index;
+            if (head < tail && (seed == seedCount || this.distances[this.queue[head]] <= (int) (seeds[seed] >>> 32))) {
+                index = this.queue[head++];
+            } else {
+                index = (int) seeds[seed];
+                int candidate = (int) (seeds[seed++] >>> 32);
+                if (candidate >= this.distances[index]) continue;
+                this.distances[index] = candidate;
+            }
+
+            int x = index % this.size;
+            int y = index / this.size;
+
+            for (Direction direction : DIRECTIONS) {
+                if (this.graph.isBlocked(x, y, direction)) continue;
+
+                int next = index + direction.getYOffset() * this.size + direction.getXOffset();
+                if (this.lowerTo(next, this.distances[index])) {
+                    this.queue[tail++] = next;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package graph;
+
+import enumeration.Color;
+import enumeration.Direction;
+import exception.BadPositionException;
+
+import java.util.Arrays;
+
+/**
+ * DistanceService computes distances between a Position and the side a player needs to reach.
+ * It uses an iterative Breadth First Search with an array as queue, so it works on any board size without risking a stack overflow.
+ * The barriers are read from the bitboard of the graph, or from its compressed sparse rows in the compact layout.
+ */
+public final class DistanceService {
+
+    /**
+     * Distance given to the cells that can't be reached.
+     */
+    public static final int UNREACHABLE = -1;
+
+    /**
+     * Every direction, in the order of their ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The constructor is useless for this class because it only contains static methods.
+     */
+    private DistanceService(){}
+
+    /**
+     * Checks if the cell (x,y) is on the side a player of a given color needs to reach.
+     * @param x     x coordinate of the cell.
+     * @param y     y coordinate of the cell.
+     * @param size  size of the board.
+     * @param color color of the player.
+     * @return true if the cell is on the side to reach.
+     */
+    public static boolean isGoal(int x, int y, int size, Color color) {
+        return switch (color) {
+            case BLUE -> y == 0;
+            case YELLOW -> y == size - 1;
+            case GREEN -> x == 0;
+            case RED -> x == size - 1;
+        };
+    }
+
+    /**
+     * Checks if a player of a given color can reach his side from a Position.
+     * The search stops as soon as a cell of the side is found.
+     * On boards too big to be flooded row by row, we use A* instead, which goes towards the side first instead of visiting the board ring by ring.
+     * @param graph graph representing the board.
+     * @param start Position of the player.
+     * @param color color of the player.
+     * @return true if the side can be reached.
+     */
+    public static boolean isGoalReachable(EdgeWeightedGraph graph, Position start, Color color) {
+        if (!BitParallelReachability.supports(graph.getSize())) {
+            return WeightedPathfinder.isGoalReachable(graph, start, color);
+        }
+        return search(graph, start, color, false, false).isReachable();
+    }
+
+    /**
+     * Computes the shortest distance from a Position to the side a player of a given color needs to reach.
+     * @param graph         graph representing the board.
+     * @param start         Position of the player.
+     * @param color         color of the player.
+     * @param keepDistances if true, the whole board is explored and the distance of every cell is kept in the result.
+     * @return the distance, the next step on a shortest path, and the distances of every cell if asked for.
+     */
+    public static PathResult shortestPath(EdgeWeightedGraph graph, Position start, Color color, boolean keepDistances) {
+        return search(graph, start, color, true, keepDistances);
+    }
+
+    /**
+     * Main method of the Breadth First Search.
+     * Cells are visited by increasing distance, so the first cell of the side that is found is the closest one.
+     * @param graph         graph representing the board.
+     * @param start         Position of the player.
+     * @param color         color of the player.
+     * @param trackStep     if true, we remember the first step of the path to every cell.
+     * @param keepDistances if true, the search doesn't stop at the side and the distances are returned.
+     * @return the result of the search.
+     */
+    private static PathResult search(EdgeWeightedGraph graph, Position start, Color color, boolean trackStep, boolean keepDistances) {
+        int size = graph.getSize();
+        int startIndex = start.toAdjacencyListIndex(size);
+
+        int[] distances = new int[size * size];
+        Arrays.fill(distances, UNREACHABLE);
+        // For every cell, the index of the neighbour of the start through which we reached it
+        int[] firstSteps = trackStep ? new int[size * size] : null;
+        // The queue never holds a cell twice, so an array of the number of cells is enough
+        int[] queue = new int[size * size];
+        int head = 0;
+        int tail = 0;
+
+        distances[startIndex] = 0;
+        queue[tail++] = startIndex;
+
+        int goalIndex = isGoal(start.getX(), start.getY(), size, color) ? startIndex : UNREACHABLE;
+        // Neighbours of the current cell that aren't behind a barrier, read from the bitboard or from the compact layout
+        int[] neighbours = new int[DIRECTIONS.length];
+
+        while (head < tail && (goalIndex == UNREACHABLE || keepDistances)) {
+            int index = queue[head++];
+            int neighbourCount = graph.openNeighbours(index, neighbours);
+
+            for (int i = 0; i < neighbourCount; i++) {
+                int next = neighbours[i];
+
+                if (distances[next] != UNREACHABLE) continue;
+
+                distances[next] = distances[index] + 1;
+                if (trackStep) firstSteps[next] = index == startIndex ? next : firstSteps[index];
+                queue[tail++] = next;
+
+                // The first cell of the side we find is the closest one, we can stop there if the distances aren't needed
+                if (goalIndex == UNREACHABLE && isGoal(next % size, next / size, size, color)) {
+                    goalIndex = next;
+                    if (!keepDistances) break;
+                }
+            }
+        }
+
+        if (goalIndex == UNREACHABLE) {
+            return new PathResult(UNREACHABLE, null, keepDistances ? distances : null);
+        }
+
+        Position nextStep = null;
+        if (trackStep && goalIndex != startIndex) {
+            try {
+                nextStep = Position.fromAdjacencyListIndex(firstSteps[goalIndex], size);
+            }
+            catch (BadPositionException bpe) {
+                bpe.printStackTrace();
+            }
+        }
+
+        return new PathResult(distances[goalIndex], nextStep, keepDistances ? distances : null);
+    }
+}
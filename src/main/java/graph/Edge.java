@@ -11,6 +11,12 @@ import java.io.Serializable;
  * This class also has a weight. This will be useful to represent barriers.
  */
 public class Edge implements Serializable {
+
+    /**
+     * Version of the class in the saves of the first versions, which didn't declare it, so they can still be loaded.
+     */
+    private static final long serialVersionUID = 8267401045481551667L;
+
     /**
      * Source of the edge.
      */
@@ -41,6 +47,30 @@ public class Edge implements Serializable {
         this.weight = weight;
     }
 
+    /**
+     * Constructor used by the graph, for an edge of weight 0 between two cells it knows.
+     * Nothing is checked, so it doesn't throw any exception.
+     * @param source source of the edge
+     * @param target target of the edge
+     */
+    private Edge(Position source, Position target) {
+        this.source = source;
+        this.target = target;
+    }
+
+    /**
+     * Gives an edge of the graph whose weight has already been checked by the graph, see {@link EdgeWeightedGraph#getNeighbourEdge(int, int, Direction)}.
+     * @param source source of the edge
+     * @param target target of the edge
+     * @param weight weight of the edge, not negative
+     * @return the new edge
+     */
+    static Edge of(Position source, Position target, int weight) {
+        Edge edge = new Edge(source, target);
+        edge.weight = weight;
+        return edge;
+    }
+
     /**
      * Getter method for the source.
      * @return the source of the Edge.
@@ -116,6 +146,8 @@ public class Edge implements Serializable {
 
     /**
      * Sets the weight of an edge and of its opposite
+     * The board writes the weight in both directions, in the Edge objects of its adjacency list or in its compressed sparse rows,
+     * so nothing is allocated here.
      * @param weight    weight to set to the edge
      * @param board     game board
      * @throws BadWeightException if the value is negative, throws an exception.
@@ -125,9 +157,19 @@ public class Edge implements Serializable {
             throw new BadWeightException();
         }
 
-        boolean isBarrierHorizontal = this.getTarget().checkDistance(this.getSource(), 0, 1);
+        // This edge may be a copy given by the compact layout, so we set its weight too
+        Direction direction = this.getSource().directionTo(this.getTarget());
+        this.weight = weight;
+        board.setEdgeWeight(this.getSource().getX(), this.getSource().getY(), direction, weight);
+    }
+
+    /**
+     * Sets the weight of the edge when the graph changes it.
+     * The weight has already been checked, so it doesn't throw any exception.
+     * @param weight new weight of the edge, not negative
+     */
+    void storeWeight(int weight) {
         this.weight = weight;
-        this.getTarget().getNeighbourEdges(board).get(isBarrierHorizontal ? Direction.NORTH : Direction.WEST).setWeight(weight);
     }
 
     /**
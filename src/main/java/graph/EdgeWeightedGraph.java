@@ -2,31 +2,74 @@ package graph;
 
 import enumeration.Color;
 import enumeration.Direction;
+import enumeration.GraphLayout;
 import exception.BadPositionException;
 import exception.BadSizeException;
 import exception.BadWeightException;
-import exception.UnknownColorException;
 import gameObjects.Player;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
 
 /**
  * EdgeWeightedGraph represents the board of the game.
- * It is an edge weighted graph because we need to save the barriers, so we will change the weight of edges with a barrier.
+ * It is an edge weighted graph because the edges can have a terrain weight, the barriers being kept apart in a {@link WallBitboard}.
+ * The edges are either stored as Edge objects in an adjacency list, for the saves of the first versions, or in a {@link CompactAdjacency}, see {@link GraphLayout}.
  */
 public class EdgeWeightedGraph implements Serializable {
 
+    /**
+     * Version of the class in the saves of the first versions, which didn't declare it, so they can still be loaded, see {@link #readObject(ObjectInputStream)}.
+     */
+    private static final long serialVersionUID = 7000360001358316691L;
+
+    /**
+     * Every direction, in the order of their ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
     /**
      * Size of the graph.
      * The size represents the number of rows/columns of the board.
      * So there are size*size nodes in the graph.
      */
     private final int size;
+    /**
+     * Layout used to store the edges.
+     * It isn't final because the saves of the first versions don't have it, it is set when they are loaded.
+     */
+    private GraphLayout layout;
     /**
      * Adjacency list of the graph.
+     * It is null in the compact layout.
      */
     private final LinkedList<Edge>[] adjacencyList;
+    /**
+     * Edges of the graph in the compressed sparse row format.
+     * It is only used in the compact layout, and it is created by {@link #initializeGraph()}.
+     */
+    private CompactAdjacency compactAdjacency;
+    /**
+     * Bitboard of the barriers placed on the graph.
+     * It is kept in sync with the weights of the edges and answers "is this side blocked" queries without going through the adjacency list.
+     * It isn't final because the saves of the first versions don't have it, it is built from the weights when they are loaded.
+     */
+    private WallBitboard walls;
+    /**
+     * Edges of every cell indexed by direction.
+     * The edge leaving the cell of index i in the direction d is at index i*4 + d.ordinal(), or null if there is none.
+     * It avoids scanning the adjacency list every time we need a specific neighbour.
+     * It is null in the compact layout.
+     * It isn't final because the saves of the first versions don't have it, it is built from the adjacency list when they are loaded.
+     */
+    private Edge[] neighbourEdges;
+    /**
+     * Topology shared by every graph of the same size.
+     * It isn't saved with the graph, it is taken back from the shared ones when needed.
+     */
+    private transient GridTopology topology;
 
     /**
      * Constructor method for the EdgeWeightedGraph class.
@@ -34,20 +77,42 @@ public class EdgeWeightedGraph implements Serializable {
      * @param size number of rows/columns.
      * @throws BadSizeException if the size isn't strictly greater than 0, it throws an error.
      */
-    @SuppressWarnings("unchecked")
     public EdgeWeightedGraph(int size) throws BadSizeException {
+        this(size, GraphLayout.ADJACENCY_LIST);
+    }
+
+    /**
+     * Constructor method for the EdgeWeightedGraph class with a given layout.
+     * In the adjacency list layout, it creates an array of LinkedList of length depending on the size value.
+     * In the compact layout, nothing is allocated for the edges until the graph is initialized.
+     * @param size   number of rows/columns.
+     * @param layout layout used to store the edges.
+     * @throws BadSizeException if the size isn't strictly greater than 0, it throws an error.
+     */
+    @SuppressWarnings("unchecked")
+    public EdgeWeightedGraph(int size, GraphLayout layout) throws BadSizeException {
 
-        if(size < 0) {
+        if(size <= 0) {
             throw new BadSizeException();
         }
 
         this.size = size;
-        this.adjacencyList = (LinkedList<Edge>[]) new LinkedList[size*size];
+        this.layout = layout;
+
+        if (layout == GraphLayout.COMPACT) {
+            this.adjacencyList = null;
+            this.neighbourEdges = null;
+        } else {
+            this.adjacencyList = (LinkedList<Edge>[]) new LinkedList[size*size];
 
-        for (int i = 0; i<size*size; i++) {
-            this.adjacencyList[i] = new LinkedList<>();
+            for (int i = 0; i<size*size; i++) {
+                this.adjacencyList[i] = new LinkedList<>();
+            }
+
+            this.neighbourEdges = new Edge[size*size*4];
         }
 
+        this.walls = new WallBitboard(size);
     }
 
     /**
@@ -58,47 +123,272 @@ public class EdgeWeightedGraph implements Serializable {
         return size;
     }
 
+    /**
+     * Getter method for the layout.
+     * @return the layout used to store the edges.
+     */
+    public GraphLayout getLayout() {
+        return layout;
+    }
+
     /**
      * Getter method for the adjacency list.
-     * @return the adjacencyList of the EdgeWeightedGraph.
+     * @return the adjacencyList of the EdgeWeightedGraph, or null in the compact layout.
      */
     public LinkedList<Edge>[] getAdjacencyList() {
         return adjacencyList;
     }
 
+    /**
+     * Getter method for the compact adjacency.
+     * @return the edges in the compressed sparse row format, or null in the adjacency list layout.
+     */
+    public CompactAdjacency getCompactAdjacency() {
+        return compactAdjacency;
+    }
+
+    /**
+     * Gives the topology of the graph, which doesn't depend on the layout and is shared by every graph of the same size.
+     * @return the shared topology of this size.
+     */
+    public GridTopology getTopology() {
+        if (this.topology == null) {
+            this.topology = GridTopology.of(this.size);
+        }
+        return this.topology;
+    }
+
+    /**
+     * Getter method for the bitboard of barriers.
+     * @return the WallBitboard of the EdgeWeightedGraph.
+     */
+    public WallBitboard getWalls() {
+        return walls;
+    }
+
+    /**
+     * Gives the edge leaving the cell (x,y) in a direction.
+     * In the adjacency list layout, this method doesn't allocate anything, it is a simple lookup in an array.
+     * In the compact layout, there are no Edge objects, so we create a new one with the current weight of the edge, between the interned Positions.
+     * The searches and the checks of barriers never need it, they work on the bitboard and the indexes of the edges.
+     * Changing the weight of this Edge only has an effect through {@link Edge#setBidirectionalEdgeWeight(int, gameObjects.Board)}, which updates the graph.
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction direction of the edge.
+     * @return the edge in this direction, or null if there is none (outside the board for example).
+     */
+    public Edge getNeighbourEdge(int x, int y, Direction direction) {
+        if (x < 0 || y < 0 || x >= this.size || y >= this.size) return null;
+        int index = y * this.size + x;
+        if (this.layout != GraphLayout.COMPACT) {
+            return this.neighbourEdges[index * 4 + direction.ordinal()];
+        }
+
+        GridTopology topology = this.getTopology();
+        int target = topology.getNeighbour(index, direction);
+        if (target < 0) return null;
+
+        int edge = topology.getEdge(index, direction);
+        int weight = this.compactAdjacency != null ? this.compactAdjacency.getWeight(edge) : 0;
+        return Edge.of(topology.getPosition(index), topology.getPosition(target), weight);
+    }
+
+    /**
+     * Gives the cells that can be reached in one move from a cell, i.e. the neighbours that aren't behind a barrier.
+     * The barriers are only kept in the bitboard, so it is read the same way whatever the layout.
+     * @param index      adjacency list index of the cell.
+     * @param neighbours array of at least 4 elements in which the adjacency list indexes of the neighbours are written.
+     * @return the number of neighbours written in the array.
+     */
+    public int openNeighbours(int index, int[] neighbours) {
+        int count = 0;
+        int x = index % this.size;
+        int y = index / this.size;
+        for (Direction direction : DIRECTIONS) {
+            if (!this.isBlocked(x, y, direction)) {
+                neighbours[count++] = index + direction.getYOffset() * this.size + direction.getXOffset();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks if a side of the cell (x,y) is blocked.
+     * A side is blocked if there is a barrier on it, or if it is on the border of the board.
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction side of the cell to check.
+     * @return true if the player can't cross this side of the cell.
+     */
+    public boolean isBlocked(int x, int y, Direction direction) {
+        int targetX = x + direction.getXOffset();
+        int targetY = y + direction.getYOffset();
+
+        // The border of the board is considered as a barrier, as well as cells outside the board
+        if (x < 0 || y < 0 || x >= this.size || y >= this.size) return true;
+        if (targetX < 0 || targetY < 0 || targetX >= this.size || targetY >= this.size) return true;
+
+        return this.walls.isWall(x, y, direction);
+    }
+
+    /**
+     * Adds or removes a barrier on one side of the cell (x,y).
+     * The barrier only goes to the bitboard: the weight of the edge is the one of the terrain, and it is found again untouched once the barrier is removed.
+     * It never throws anything and never allocates an Edge, so it is the way the board places and removes its barriers.
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction side of the cell.
+     * @param wall      true to add the barrier, false to remove it.
+     */
+    public void setWall(int x, int y, Direction direction, boolean wall) {
+        if (this.writeWall(x, y, direction, wall)) this.onWallChanged(x, y, direction, wall);
+    }
+
+    /**
+     * Sets the weight of the edge leaving the cell (x,y) in a direction, and of its opposite.
+     * A weight of 1 is a barrier: it goes to the bitboard, and the weight of the terrain under it is kept.
+     * Any other weight is a terrain, 0 being the usual one and a weight greater than 1 a slower one, and removes the barrier if there was one.
+     * In the compact layout, the weight is kept in the compressed sparse rows, in the adjacency list layout in the Edge objects.
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction direction of the edge.
+     * @param weight    new weight of the edge.
+     */
+    public void setEdgeWeight(int x, int y, Direction direction, int weight) {
+        if (weight != 1) this.writeTerrainWeight(x, y, direction, weight);
+        this.setWall(x, y, direction, weight == 1);
+    }
+
+    /**
+     * Adds or removes a barrier on one side of the cell (x,y) in the bitboard, and nothing else.
+     * Nothing is told about it, see {@link #onWallChanged(int, int, Direction, boolean)}.
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction side of the cell.
+     * @param wall      true to add the barrier, false to remove it.
+     * @return true if a barrier has been added or removed on this side.
+     */
+    protected boolean writeWall(int x, int y, Direction direction, boolean wall) {
+        if (this.walls.isWall(x, y, direction) == wall) return false;
+        this.walls.setWall(x, y, direction, wall);
+        return true;
+    }
+
+    /**
+     * Writes the weight of the terrain of the edge leaving the cell (x,y) in a direction, and of its opposite, in the edges of the layout.
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction direction of the edge.
+     * @param weight    new weight of the edge.
+     */
+    private void writeTerrainWeight(int x, int y, Direction direction, int weight) {
+        int index = y * this.size + x;
+        int target = index + direction.getYOffset() * this.size + direction.getXOffset();
+        if (this.compactAdjacency != null) {
+            this.compactAdjacency.setBidirectionalWeight(index, target, weight);
+        } else if (this.neighbourEdges != null) {
+            // The Edge objects of both directions are the ones of the adjacency list, so they are updated in place
+            Edge edge = this.neighbourEdges[index * 4 + direction.ordinal()];
+            Edge opposite = this.neighbourEdges[target * 4 + direction.opposite().ordinal()];
+            if (edge != null) edge.storeWeight(weight);
+            if (opposite != null) opposite.storeWeight(weight);
+        }
+    }
+
+    /**
+     * Called every time a barrier is added or removed on one side of the cell (x,y), once the bitboard is written.
+     * The graph has nothing to keep in sync, the board updates its caches here.
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction side of the cell.
+     * @param wall      true if the barrier has been added, false if it has been removed.
+     */
+    protected void onWallChanged(int x, int y, Direction direction, boolean wall) {
+    }
+
+    /**
+     * Gives the cost of a move from the cell (x,y) in a direction.
+     * A side with a barrier can't be crossed, whatever the weight of its terrain.
+     * Otherwise an edge of weight 0 or 1 costs 1, and an edge of weight greater than 1 costs its weight.
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction direction of the move.
+     * @return the cost of the move, or {@link DistanceService#UNREACHABLE} if the side is blocked.
+     */
+    public int getMoveCost(int x, int y, Direction direction) {
+        if (this.isBlocked(x, y, direction)) return DistanceService.UNREACHABLE;
+
+        int weight = 0;
+        int index = y * this.size + x;
+        if (this.compactAdjacency != null) {
+            int edge = this.compactAdjacency.getEdge(index, direction);
+            if (edge >= 0) weight = this.compactAdjacency.getWeight(edge);
+        } else if (this.neighbourEdges != null && this.neighbourEdges[index * 4 + direction.ordinal()] != null) {
+            weight = this.neighbourEdges[index * 4 + direction.ordinal()].getWeight();
+        }
+
+        return weight > 1 ? weight : 1;
+    }
+
     /**
      * Method adding an edge to the adjacency list.
      * It takes and edge, and add it to the corresponding source in the adjacency list.
+     * The edge is also registered in the array of neighbour edges, so it can be found by its direction.
+     * In the compact layout, every edge of the grid already exists, so only the weight carried by the edge is kept.
      * @param edge the edge added to the adjacency list.
      */
     public void addEdge(Edge edge) {
-        adjacencyList[edge.getSource().toAdjacencyListIndex(this.size)].add(edge);
+        int index = edge.getSource().toAdjacencyListIndex(this.size);
+
+        if (this.layout == GraphLayout.COMPACT) {
+            Direction direction = edge.getSource().directionTo(edge.getTarget());
+            if (direction != null) this.setEdgeWeight(edge.getSource().getX(), edge.getSource().getY(), direction, edge.getWeight());
+            return;
+        }
+
+        adjacencyList[index].add(edge);
+
+        // If the edge links two adjacent cells, we also register it in the direction-indexed array
+        Direction direction = edge.getSource().directionTo(edge.getTarget());
+        if (direction != null) {
+            this.neighbourEdges[index * 4 + direction.ordinal()] = edge;
+        }
     }
 
     /**
      * Method initializing the graph depending on its size.
      * It creates a graph where every node is connected to nodes on its right, left, top and bottom.
+     * The Positions of the edges are the interned ones, see {@link Position#of(int, int, int)}.
+     * In the compact layout, nothing is built: the compressed sparse rows come from the {@link GridTopology} shared by every board of the same size.
      */
     public void initializeGraph(){
+        if (this.layout == GraphLayout.COMPACT) {
+            this.compactAdjacency = new CompactAdjacency(this.size);
+            return;
+        }
+
         // For every node, we verify their "position" on the graph
         for (int y = 0; y < this.size; y++) {
             for (int x = 0; x < this.size; x++) {
                 try {
+                    // Every edge uses the interned Positions, so a cell is represented by a single object
+                    Position position = Position.of(x,y,this.size);
+
                     // If the node isn't on the first line, then it has a node connected to it above
                     if(y > 0) {
-                        addEdge(new Edge(new Position(x,y),new Position(x,y-1),0));
+                        addEdge(new Edge(position,Position.of(x,y-1,this.size),0));
                     }
                     // If the node isn't on the last line, then it has a node connected to it below
                     if(y < this.size - 1) {
-                        addEdge(new Edge(new Position(x,y),new Position(x,y+1),0));
+                        addEdge(new Edge(position,Position.of(x,y+1,this.size),0));
                     }
                     // If the node isn't on the first column, then it has a node connected to it to its left
                     if(x > 0) {
-                        addEdge(new Edge(new Position(x,y),new Position(x-1,y),0));
+                        addEdge(new Edge(position,Position.of(x-1,y,this.size),0));
                     }
                     // If the node isn't on the last column, then it has a node connected to it to its right
                     if(x < this.size - 1) {
-                        addEdge(new Edge(new Position(x,y),new Position(x+1,y),0));
+                        addEdge(new Edge(position,Position.of(x+1,y,this.size),0));
                     }
                 }
                 catch (BadPositionException | BadWeightException exception) {
@@ -109,98 +399,114 @@ public class EdgeWeightedGraph implements Serializable {
     }
 
     /**
-     * Main method for the DFS.
-     * It is a recursive method that explores every Position to see if a player can reach the side he needs to go to.
-     * @param pos Current position.
-     * @param visited Array of boolean that marks visited Positions.
-     * @param color Color of the current player.
-     * @param reached Boolean which is true if the side is reachable.
-     * @throws UnknownColorException if the color isn't valid, throws an exception
-     */
-    private void DFSUtil(Position pos, boolean[] visited, Color color, boolean[] reached) throws UnknownColorException {
-        // If the node isn't visited, we need to visit it
-        if(!visited[pos.toAdjacencyListIndex(this.size)]) {
-            // Depending on the color, we check if every player has cleared path (with no barrier) to the side they need to reach
-            switch (color) {
-                case BLUE -> {
-                    if (pos.getY() == 0) reached[0] = true;
-                }
-
-                case YELLOW -> {
-                    if (pos.getY() == this.size - 1) reached[0] = true;
-                }
-
-                case GREEN -> {
-                    if (pos.getX() == 0) reached[0] = true;
-                }
-
-                case RED -> {
-                    if (pos.getX() == this.size - 1) reached[0] = true;
-                }
+     * Reads a graph from a save.
+     * The saves of the first versions only have the size and the adjacency list, an edge of weight 1 being a barrier:
+     * the graph keeps the adjacency list layout, its edges are given the interned Positions, and the bitboard is built from the weights.
+     * @param in the stream the graph is read from.
+     * @throws IOException if the stream can't be read.
+     * @throws ClassNotFoundException if a class of the save can't be found.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (this.layout != null) return;
 
-                default -> throw new UnknownColorException("Unknown color");
-            }
+        this.layout = GraphLayout.ADJACENCY_LIST;
+        this.walls = new WallBitboard(this.size);
+        this.neighbourEdges = new Edge[this.size * this.size * 4];
+        GridTopology topology = this.getTopology();
 
-            // We mark that the current node has been visited
-            visited[pos.toAdjacencyListIndex(this.size)] = true;
+        for (LinkedList<Edge> edges : this.adjacencyList) {
+            ListIterator<Edge> iterator = edges.listIterator();
 
-            // We get the neighbour edges of the current node
-            Map<Direction, Edge> edgeNeighbours = pos.getNeighbourEdges(this);
+            while (iterator.hasNext()) {
+                Edge saved = iterator.next();
+                int source = saved.getSource().toAdjacencyListIndex(this.size);
+                int target = saved.getTarget().toAdjacencyListIndex(this.size);
+                Edge edge = Edge.of(topology.getPosition(source), topology.getPosition(target), saved.getWeight());
+                iterator.set(edge);
 
-            // We visit every neighbour nodes if there is no barrier between the two nodes
-            for(Map.Entry<Direction, Edge> entry : edgeNeighbours.entrySet()) {
-                if(entry.getValue().getWeight() == 0) {
-                    this.DFSUtil(entry.getValue().getTarget(), visited, color, reached);
-                }
+                Direction direction = edge.getSource().directionTo(edge.getTarget());
+                if (direction == null) continue;
+                this.neighbourEdges[source * 4 + direction.ordinal()] = edge;
+                if (edge.getWeight() == 1) this.walls.setWall(edge.getSource().getX(), edge.getSource().getY(), direction, true);
             }
         }
     }
 
     /**
-     * Intermediate method for the DFS.
-     * It creates an array to mark visited Positions.
+     * Checks if a player can reach the side he needs to go to.
+     * It keeps its historical name, but the search is now the iterative one of {@link DistanceService}, which stops as soon as the side is reached.
      * @param pos Position of the current player.
      * @param color Color of the current player.
      * @return true if the player has a path, false if not.
      */
     public boolean DFS(Position pos, Color color) {
-        // Creation of the array of visited nodes and the boolean to know if the side can be reached or not
-        boolean[] visited = new boolean[this.size*this.size];
-        boolean[] reached = new boolean[1];
+        return DistanceService.isGoalReachable(this, pos, color);
+    }
+
+    /**
+     * This method checks if every player has a path to the side he needs to go to.
+     * On boards of size 64 or less, every row is flooded at once with {@link BitParallelReachability},
+     * otherwise the searches of the players run in parallel with {@link ParallelReachability}.
+     * @param players the list of players.
+     * @return a bitmask, the bit i being set if the player i of the list has a path.
+     *         If a player is blocked, the bits of the players whose search has been cancelled may be unset.
+     */
+    public int reachablePlayersMask(List<Player> players) {
+        return this.reachablePlayersMask(players, true);
+    }
 
-        try {
-            this.DFSUtil(pos, visited, color, reached);
+    /**
+     * This method checks if every player has a path to the side he needs to go to.
+     * @param players  the list of players.
+     * @param parallel if true, on boards too big to be flooded row by row, the searches run in parallel and stop as soon as a player is blocked.
+     *                 If false, every player is searched one after the other, so the result is exact for each of them.
+     * @return a bitmask, the bit i being set if the player i of the list has a path.
+     */
+    public int reachablePlayersMask(List<Player> players, boolean parallel) {
+        if (BitParallelReachability.supports(this.size)) {
+            return BitParallelReachability.reachableMask(this.walls, players);
         }
-        catch (UnknownColorException uce) {
-            uce.printStackTrace();
+        if (parallel && players.size() > 1) {
+            return ParallelReachability.reachableMask(this, players);
         }
 
-        return reached[0];
+        int mask = 0;
+        for (int i = 0; i < players.size(); i++) {
+            if (this.DFS(players.get(i).getPosition(), players.get(i).getColor())) mask |= 1 << i;
+        }
+        return mask;
     }
 
     /**
      * This method checks if every player has a path to the side he needs to go to.
-     * To do that, we do a Depth First Search starting from the Position of every player.
+     * It relies on {@link #reachablePlayersMask(List, boolean)}, without cancelling any search so every player gets an answer.
      * @param players the list of players.
      * @return a map with every player and a boolean which is true if the corresponding player has a path.
      */
     public Map<Player, Boolean> checkPath(List<Player> players) {
         // We create a map with players as keys and boolean as values
         Map<Player, Boolean> checkPathPlayers = new HashMap<>();
+        int mask = this.reachablePlayersMask(players, false);
 
-        // For every player, we check if there is a path between his position and the side he needs to reach
-        for (Player p : players) {
-            checkPathPlayers.put(p, this.DFS(p.getPosition(), p.getColor()));
+        // For every player, we check if his bit is set in the mask
+        for (int i = 0; i < players.size(); i++) {
+            checkPathPlayers.put(players.get(i), (mask & (1 << i)) != 0);
         }
 
         return checkPathPlayers;
     }
+
     /**
      * Returns a string representation of the adjacency list for the graph.
      * @return A string representation of the adjacency list, displaying each vertex and its adjacent vertices.
      */
     @Override
     public String toString() {
+        if (this.layout == GraphLayout.COMPACT) {
+            return String.valueOf(this.compactAdjacency);
+        }
+
         StringBuilder display = new StringBuilder();
         for (int i = 0; i < this.size*this.size; i++) {
             display.append(i).append(" : ").append(this.adjacencyList[i]).append("\n");
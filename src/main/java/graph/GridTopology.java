@@ -0,0 +1,215 @@
+package graph;
+
+import enumeration.Direction;
+import exception.BadPositionException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GridTopology holds everything about the grid of a board that doesn't depend on the game: which cell is next to which one.
+ * It never changes, so there is a single GridTopology per size, shared by every board of this size, see {@link #of(int)}.
+ * What changes during a game, the barriers and the weights, is kept by each board on top of it.
+ * <p>
+ * The edges are numbered in the compressed sparse row format: the edges leaving the cell of adjacency list index i
+ * are the edges offsets[i] to offsets[i+1]-1, sorted in the order of the directions.
+ */
+public final class GridTopology {
+
+    /**
+     * Topology of every size already asked for.
+     */
+    private static final Map<Integer, GridTopology> SHARED = new ConcurrentHashMap<>();
+
+    /**
+     * Every direction, in the order of their ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Size of the board.
+     */
+    private final int size;
+    /**
+     * Index of the first edge of every cell, plus the total number of edges at the end.
+     */
+    private final int[] offsets;
+    /**
+     * Adjacency list index of the target of every edge.
+     */
+    private final int[] targets;
+    /**
+     * Index of the edge leaving every cell in every direction, at index i*4 + d.ordinal(), or -1 on the border.
+     */
+    private final int[] edges;
+    /**
+     * Adjacency list index of the neighbour of every cell in every direction, at index i*4 + d.ordinal(), or -1 on the border.
+     */
+    private final int[] neighbours;
+    /**
+     * Adjacency list index of the cell two cells away from every cell in every direction, where a jump over a player lands,
+     * at index i*4 + d.ordinal(), or -1 if it is outside the board.
+     */
+    private final int[] jumps;
+    /**
+     * Interned Position of every cell, see {@link Position#of(int, int, int)}.
+     */
+    private final Position[] positions;
+
+    /**
+     * Constructor of the GridTopology class.
+     * It links every cell to the cells on its top, right, bottom and left.
+     * @param size number of rows/columns of the board.
+     */
+    private GridTopology(int size) {
+        this.size = size;
+        this.offsets = new int[size * size + 1];
+        // Every cell has 4 neighbours, except the ones on the border
+        this.targets = new int[size < 2 ? 0 : 4 * size * (size - 1)];
+        this.edges = new int[size * size * 4];
+        this.neighbours = new int[size * size * 4];
+        this.jumps = new int[size * size * 4];
+        this.positions = new Position[size * size];
+
+        int edge = 0;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int index = y * size + x;
+                this.offsets[index] = edge;
+
+                // The coordinates are always inside the board, so the exception would be a bug of this class
+                try {
+                    this.positions[index] = Position.of(x, y, size);
+                }
+                catch (BadPositionException bpe) {
+                    throw new IllegalStateException(bpe);
+                }
+
+                for (Direction direction : DIRECTIONS) {
+                    int slot = index * 4 + direction.ordinal();
+                    int targetX = x + direction.getXOffset();
+                    int targetY = y + direction.getYOffset();
+                    int jumpX = targetX + direction.getXOffset();
+                    int jumpY = targetY + direction.getYOffset();
+
+                    this.jumps[slot] = jumpX < 0 || jumpY < 0 || jumpX >= size || jumpY >= size ? -1 : jumpY * size + jumpX;
+
+                    if (targetX < 0 || targetY < 0 || targetX >= size || targetY >= size) {
+                        this.edges[slot] = -1;
+                        this.neighbours[slot] = -1;
+                        continue;
+                    }
+
+                    this.edges[slot] = edge;
+                    this.neighbours[slot] = targetY * size + targetX;
+                    this.targets[edge++] = targetY * size + targetX;
+                }
+            }
+        }
+        this.offsets[size * size] = edge;
+    }
+
+    /**
+     * Gives the topology of a size, building it the first time this size is asked for.
+     * @param size number of rows/columns of the board.
+     * @return the topology shared by every board of this size.
+     */
+    public static GridTopology of(int size) {
+        return SHARED.computeIfAbsent(size, GridTopology::new);
+    }
+
+    /**
+     * Getter for the size.
+     * @return the number of rows/columns of the board.
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Gives the interned Position of a cell, without checking the index.
+     * @param index adjacency list index of the cell, inside the board.
+     * @return the Position of the cell.
+     */
+    public Position getPosition(int index) {
+        return this.positions[index];
+    }
+
+    /**
+     * Gives the total number of edges, each edge being counted once in each direction.
+     * @return the number of edges.
+     */
+    public int getEdgeCount() {
+        return this.targets.length;
+    }
+
+    /**
+     * Gives the index of the first edge of a cell.
+     * @param index adjacency list index of the cell.
+     * @return the index of its first edge.
+     */
+    public int getFirstEdge(int index) {
+        return this.offsets[index];
+    }
+
+    /**
+     * Gives the index after the last edge of a cell.
+     * @param index adjacency list index of the cell.
+     * @return the index of the first edge of the next cell.
+     */
+    public int getEndEdge(int index) {
+        return this.offsets[index + 1];
+    }
+
+    /**
+     * Gives the target of an edge.
+     * @param edge index of the edge.
+     * @return the adjacency list index of the target.
+     */
+    public int getTarget(int edge) {
+        return this.targets[edge];
+    }
+
+    /**
+     * Gives the edge leaving a cell in a direction.
+     * @param index     adjacency list index of the cell.
+     * @param direction direction of the edge.
+     * @return the index of the edge, or -1 on the border.
+     */
+    public int getEdge(int index, Direction direction) {
+        return this.edges[index * 4 + direction.ordinal()];
+    }
+
+    /**
+     * Finds the edge between two cells.
+     * @param source adjacency list index of the source.
+     * @param target adjacency list index of the target.
+     * @return the index of the edge, or -1 if the cells aren't adjacent.
+     */
+    public int findEdge(int source, int target) {
+        for (int edge = this.offsets[source]; edge < this.offsets[source + 1]; edge++) {
+            if (this.targets[edge] == target) return edge;
+        }
+        return -1;
+    }
+
+    /**
+     * Gives the neighbour of a cell in a direction.
+     * @param index     adjacency list index of the cell.
+     * @param direction direction of the neighbour.
+     * @return the adjacency list index of the neighbour, or -1 on the border.
+     */
+    public int getNeighbour(int index, Direction direction) {
+        return this.neighbours[index * 4 + direction.ordinal()];
+    }
+
+    /**
+     * Gives the cell two cells away from a cell in a direction, where a jump over a player lands.
+     * @param index     adjacency list index of the cell.
+     * @param direction direction of the jump.
+     * @return the adjacency list index of the landing cell, or -1 if it is outside the board.
+     */
+    public int getJump(int index, Direction direction) {
+        return this.jumps[index * 4 + direction.ordinal()];
+    }
+}
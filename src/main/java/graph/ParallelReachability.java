@@ -0,0 +1,95 @@
+package graph;
+
+import gameObjects.Player;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ParallelReachability checks if the players can reach their side with one search per player, the searches running at the same time.
+ * As soon as a player is found to be blocked, the answer to "can everyone still reach his side" is known,
+ * so the searches still running are cancelled.
+ * <p>
+ * The searches only read the graph, which must not change until the result is returned.
+ * On a machine with a single processor, the searches can't run at the same time, so they are done one after the other,
+ * still stopping at the first player that is blocked.
+ */
+public final class ParallelReachability {
+
+    /**
+     * Pool running the searches.
+     */
+    private static final ForkJoinPool POOL = ForkJoinPool.commonPool();
+
+    /**
+     * The constructor is useless for this class because it only contains static methods.
+     */
+    private ParallelReachability(){}
+
+    /**
+     * Checks if running the searches in parallel can be faster than running them one after the other.
+     * @return true if the machine has more than one processor.
+     */
+    public static boolean isUseful() {
+        return Runtime.getRuntime().availableProcessors() > 1;
+    }
+
+    /**
+     * Checks which players have a path to the side they need to go to.
+     * The search of the last player runs on the calling thread while the other ones run on the pool.
+     * If a player is blocked, the searches that were cancelled leave their bit unset, so the mask is only complete when every player has a path.
+     * @param graph   graph representing the board.
+     * @param players the list of players.
+     * @return a bitmask, the bit i being set if the player i of the list has been found to have a path.
+     */
+    public static int reachableMask(EdgeWeightedGraph graph, List<Player> players) {
+        int count = players.size();
+        if (count == 0) return 0;
+
+        AtomicBoolean blocked = new AtomicBoolean();
+        AtomicInteger mask = new AtomicInteger();
+
+        if (!isUseful()) {
+            for (int i = 0; i < count && !blocked.get(); i++) {
+                search(graph, players.get(i), i, blocked, mask);
+            }
+            return mask.get();
+        }
+
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[count - 1];
+        for (int i = 0; i < count - 1; i++) {
+            int player = i;
+            tasks[i] = POOL.submit(() -> search(graph, players.get(player), player, blocked, mask));
+        }
+        search(graph, players.get(count - 1), count - 1, blocked, mask);
+
+        // The cancelled searches stop quickly, so waiting for all of them doesn't cost much
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        return mask.get();
+    }
+
+    /**
+     * Searches a path for one player, and either sets his bit in the mask or cancels the other searches.
+     * @param graph   graph representing the board.
+     * @param player  the player.
+     * @param index   index of the player in the list.
+     * @param blocked flag set as soon as a player is found to be blocked.
+     * @param mask    bitmask of the players found to have a path.
+     */
+    private static void search(EdgeWeightedGraph graph, Player player, int index, AtomicBoolean blocked, AtomicInteger mask) {
+        if (blocked.get()) return;
+
+        if (WeightedPathfinder.isGoalReachable(graph, player.getPosition(), player.getColor(), blocked)) {
+            mask.getAndUpdate(bits -> bits | 1 << index);
+        }
+        else {
+            // The search may also have failed because it was cancelled, in which case the flag is already set
+            blocked.set(true);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package graph;
+
+/**
+ * PathResult is the answer of a shortest path query from a Position to the side a player needs to reach.
+ * It contains the distance, the first step to take on a shortest path, and optionally the distance of every cell from the start.
+ */
+public class PathResult {
+    /**
+     * Number of moves needed to reach the side, or {@link DistanceService#UNREACHABLE} if the side can't be reached.
+     */
+    private final int distance;
+    /**
+     * First Position to go to on a shortest path.
+     * It is null if the start is already on the side, or if the side can't be reached.
+     */
+    private final Position nextStep;
+    /**
+     * Distance of every cell from the start, indexed by adjacency list index.
+     * It is null if it wasn't asked for.
+     */
+    private final int[] distances;
+
+    /**
+     * Constructor method for the PathResult class.
+     * @param distance  number of moves needed to reach the side.
+     * @param nextStep  first Position to go to on a shortest path.
+     * @param distances distance of every cell from the start, or null.
+     */
+    public PathResult(int distance, Position nextStep, int[] distances) {
+        this.distance = distance;
+        this.nextStep = nextStep;
+        this.distances = distances;
+    }
+
+    /**
+     * Getter for the distance.
+     * @return the number of moves needed to reach the side, or {@link DistanceService#UNREACHABLE}.
+     */
+    public int getDistance() {
+        return this.distance;
+    }
+
+    /**
+     * Getter for the next step.
+     * @return the first Position to go to on a shortest path, or null.
+     */
+    public Position getNextStep() {
+        return this.nextStep;
+    }
+
+    /**
+     * Getter for the distances.
+     * Unreached cells have the value {@link DistanceService#UNREACHABLE}.
+     * @return the distance of every cell from the start, or null if it wasn't asked for.
+     */
+    public int[] getDistances() {
+        return this.distances;
+    }
+
+    /**
+     * Tells if the side can be reached.
+     * @return true if there is a path to the side.
+     */
+    public boolean isReachable() {
+        return this.distance != DistanceService.UNREACHABLE;
+    }
+
+    /**
+     * Returns a string representation of the PathResult object.
+     * @return A string representation of the PathResult object, including the distance and the next step.
+     */
+    @Override
+    public String toString() {
+        return "PathResult{" +
+                "distance=" + distance +
+                ", nextStep=" + nextStep +
+                '}';
+    }
+}
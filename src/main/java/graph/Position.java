@@ -4,27 +4,47 @@ import enumeration.Direction;
 import exception.BadPositionException;
 
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.lang.Math.abs;
 
 /**
  * Position is used for two purposes: to know where a player is on the board, and to create edges for the graph that represents the board.
+ * A Position is immutable: moving a player means giving him another Position.
+ * Positions are interned per board size, so the same cell is always represented by the same object, see {@link #of(int, int, int)}.
  */
 public class Position implements Serializable {
 
+    /**
+     * Version of the class in the saves of the first versions, which didn't declare it, so they can still be loaded.
+     */
+    private static final long serialVersionUID = -1538479360424245380L;
+
+    /**
+     * Interned Positions for every board size.
+     * For a given size, the Position (x,y) is at index y*size + x, which is its adjacency list index.
+     */
+    private static final Map<Integer, Position[]> INTERNED = new ConcurrentHashMap<>();
+
     /**
      * First component of the Position.
      */
-    private int x;
+    private final int x;
     /**
      * Second component of the Position.
      */
-    private int y;
+    private final int y;
+    /**
+     * Size of the board whose interned Positions contain this one, or 0 if it has been created with the public constructor and isn't interned.
+     * It is saved with the Position, so the interned one can be found back when a game is loaded, see {@link #readResolve()}.
+     */
+    private final int boardSize;
 
     /**
      * Constructor method for the Position class.
+     * Prefer {@link #of(int, int, int)} which returns the shared instance of the cell.
      * @param x coordinate x
      * @param y coordinate y
      * @throws BadPositionException if x or y is lesser than 0, throws an exception
@@ -35,6 +55,7 @@ public class Position implements Serializable {
         }
         this.x = x;
         this.y = y;
+        this.boardSize = 0;
     }
 
     /**
@@ -48,58 +69,87 @@ public class Position implements Serializable {
     }
 
     /**
-     * Getter for the x attribute.
-     * @return the value of the coordinate x.
+     * Gives the interned Position (x,y) of a board.
+     * Every call with the same parameters returns the same object, so no Position is allocated after the first call for a board size.
+     * @param x coordinate x
+     * @param y coordinate y
+     * @param boardSize size of the board
+     * @return the Position (x,y)
+     * @throws BadPositionException if x or y is outside the board, throws an exception
      */
-    public int getX() {
-        return x;
+    public static Position of(int x, int y, int boardSize) throws BadPositionException {
+        if(x < 0 || y < 0 || x >= boardSize || y >= boardSize) {
+            throw new BadPositionException();
+        }
+        return interned(boardSize)[y * boardSize + x];
     }
 
     /**
-     * Getter for the y attribute.
-     * @return the value of the coordinate y.
+     * Gives the interned Position corresponding to an adjacency list index.
+     * @param index adjacency list index of the Position
+     * @param boardSize size of the board
+     * @return the Position whose adjacency list index is index
+     * @throws BadPositionException if the index is outside the board, throws an exception
      */
-    public int getY() {
-        return y;
+    public static Position fromAdjacencyListIndex(int index, int boardSize) throws BadPositionException {
+        if(index < 0 || index >= boardSize * boardSize) {
+            throw new BadPositionException();
+        }
+        return interned(boardSize)[index];
     }
 
     /**
-     * Setter for the x attribute.
-     * @param x new value for the x attribute.
-     * @throws BadPositionException if the value is negative, throws an exception
+     * Gives the array of interned Positions of a board size, creating it on the first call.
+     * @param boardSize size of the board
+     * @return the array of every Position of the board, indexed by adjacency list index
      */
-    public void setX(int x) throws BadPositionException {
-        if(x < 0) {
-            throw new BadPositionException();
-        }
-        this.x = x;
+    private static Position[] interned(int boardSize) {
+        return INTERNED.computeIfAbsent(boardSize, size -> {
+            Position[] positions = new Position[size * size];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = new Position(i % size, i / size, size);
+            }
+            return positions;
+        });
     }
 
     /**
-     * Setter for the y attribute.
-     * @param y new value for the y attribute.
-     * @throws BadPositionException if the value is negative, throws an exception
+     * Constructor used to fill the interned Positions.
+     * The coordinates are already known to be inside the board, so it doesn't throw any exception.
+     * @param x coordinate x
+     * @param y coordinate y
+     * @param boardSize size of the board the Position is interned for
      */
-    public void setY(int y) throws BadPositionException {
-        if(y < 0) {
-            throw new BadPositionException();
-        }
+    private Position(int x, int y, int boardSize) {
+        this.x = x;
         this.y = y;
+        this.boardSize = boardSize;
     }
 
     /**
-     * Method for changing attributes of a Position.
-     * @param x new value for the x attribute.
-     * @param y new value for the y attribute.
+     * Gives the interned Position instead of the one just read from a save, so a loaded game still has a single object per cell.
+     * The Positions that weren't interned when they were saved are kept as they are.
+     * @return the interned Position of the same cell, or this Position if it isn't interned.
      */
-    public void move(int x, int y) {
-        try {
-            this.setX(x);
-            this.setY(y);
-        }
-        catch (BadPositionException bpe) {
-            bpe.printStackTrace();
-        }
+    private Object readResolve() {
+        if (this.boardSize <= 0 || this.x >= this.boardSize || this.y >= this.boardSize) return this;
+        return interned(this.boardSize)[this.toAdjacencyListIndex(this.boardSize)];
+    }
+
+    /**
+     * Getter for the x attribute.
+     * @return the value of the coordinate x.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Getter for the y attribute.
+     * @return the value of the coordinate y.
+     */
+    public int getY() {
+        return y;
     }
 
     /**
@@ -112,9 +162,37 @@ public class Position implements Serializable {
         return this.y * boardSize + this.x;
     }
 
+    /**
+     * This method gives the Edge connected to a Position in a given direction.
+     * Contrary to getNeighbourEdges, it doesn't allocate a map, but the compact layout builds the Edge on every call.
+     * @param graph graph representing the board.
+     * @param direction direction of the edge.
+     * @return the Edge in this direction, or null if it doesn't exist.
+     */
+    public Edge getNeighbourEdge(EdgeWeightedGraph graph, Direction direction) {
+        return graph.getNeighbourEdge(this.x, this.y, direction);
+    }
+
+    /**
+     * This method gives the Position connected to a Position in a given direction.
+     * We read the neighbour in the topology of the graph, so no Edge is needed.
+     * @param graph graph representing the board.
+     * @param direction direction of the neighbour.
+     * @return the Position in this direction, or null if it doesn't exist.
+     */
+    public Position getNeighbourPosition(EdgeWeightedGraph graph, Direction direction) {
+        int size = graph.getSize();
+        if (this.x < 0 || this.y < 0 || this.x >= size || this.y >= size) return null;
+
+        GridTopology topology = graph.getTopology();
+        int neighbour = topology.getNeighbour(this.toAdjacencyListIndex(size), direction);
+        return neighbour < 0 ? null : topology.getPosition(neighbour);
+    }
+
     /**
      * This method generates a map of Edges connected to a Position.
      * It is useful to know the neighbours of a Position.
+     * This method allocates a new map on every call, prefer getNeighbourEdge when only one direction is needed.
      * @param graph graph representing the board.
      * @return a Map with every direction and the edge associated with the direction, if the direction exists.
      */
@@ -125,19 +203,13 @@ public class Position implements Serializable {
         // We create the map that will be returned
         // This map has directions as keys and edges as values
         // So for each direction, there is an edge associated, if it exists
-        Map<Direction, Edge> neighbours = new HashMap<>();
-        int index = this.toAdjacencyListIndex(graph.getSize());
-
-        // For every edge connected to the Position, we verify in which direction it is, and add it to the Map.
-        for (Edge e : graph.getAdjacencyList()[index]) {
-            if(this.getY()-1 == e.getTarget().getY()) {
-                neighbours.put(Direction.NORTH, e);
-            } else if(this.getY()+1 == e.getTarget().getY()) {
-                neighbours.put(Direction.SOUTH, e);
-            } else if(this.getX()-1 == e.getTarget().getX()) {
-                neighbours.put(Direction.WEST, e);
-            } else {
-                neighbours.put(Direction.EAST, e);
+        Map<Direction, Edge> neighbours = new EnumMap<>(Direction.class);
+
+        // For every direction, we add the edge to the Map if it exists
+        for (Direction direction : Direction.values()) {
+            Edge edge = this.getNeighbourEdge(graph, direction);
+            if (edge != null) {
+                neighbours.put(direction, edge);
             }
         }
 
@@ -147,7 +219,7 @@ public class Position implements Serializable {
     /**
      * This method generates a map of Positions connected to a Position.
      * It is useful to know the neighbours of a Position.
-     * We simply reuse getNeighbourEdges and get the target position of every Edge.
+     * This method allocates a new map on every call, prefer getNeighbourPosition when only one direction is needed.
      * @param graph graph representing the board.
      * @return a Map with every direction and the edge associated with the direction, if the direction exists.
      */
@@ -155,13 +227,13 @@ public class Position implements Serializable {
         if(graph.getSize() < 2) return null;
 
         // Similar to getNeighbourEdges, we create a map with directions as keys and in this case, positions as neighbours
-        Map<Direction, Edge> edgeNeighbours = this.getNeighbourEdges(graph);
-        Map<Direction, Position> positionNeighbours = new HashMap<>();
+        Map<Direction, Position> positionNeighbours = new EnumMap<>(Direction.class);
 
-        // We can re-use the method getNeighbourEdges
-        // We just have to get the neighbour edges and take every target Position of these edges
-        for(Map.Entry<Direction, Edge> entry : edgeNeighbours.entrySet()) {
-            positionNeighbours.put(entry.getKey(), entry.getValue().getTarget());
+        for (Direction direction : Direction.values()) {
+            Position neighbour = this.getNeighbourPosition(graph, direction);
+            if (neighbour != null) {
+                positionNeighbours.put(direction, neighbour);
+            }
         }
 
         return positionNeighbours;
@@ -178,6 +250,21 @@ public class Position implements Serializable {
         return abs(this.x - otherPos.getX()) == x && abs(this.y - otherPos.getY()) == y;
     }
 
+    /**
+     * Gives the direction to follow to go from this Position to an adjacent one.
+     * @param otherPos the adjacent Position
+     * @return the direction of otherPos from this Position, or null if the two Positions aren't adjacent
+     */
+    public Direction directionTo(Position otherPos) {
+        for (Direction direction : Direction.values()) {
+            if (this.x + direction.getXOffset() == otherPos.getX() && this.y + direction.getYOffset() == otherPos.getY()) {
+                return direction;
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Compares this Position object to the specified object for equality.
      * @param obj The object to compare for equality.
@@ -192,6 +279,15 @@ public class Position implements Serializable {
         return false;
     }
 
+    /**
+     * Returns a hash code consistent with equals, so Positions can be used as keys of maps and sets.
+     * @return the hash code of this Position.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * this.x + this.y;
+    }
+
     /**
      * Returns a string representation of this Position object.
      * @return A string representation of this Position object in the format "(x,y)".
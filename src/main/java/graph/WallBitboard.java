@@ -0,0 +1,233 @@
+package graph;
+
+import enumeration.Direction;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * WallBitboard stores the barriers of the board as two bitsets.
+ * The first bitset contains the horizontal wall slots: the bit of (x,y) is set if there is a barrier between (x,y) and (x,y+1).
+ * The second bitset contains the vertical wall slots: the bit of (x,y) is set if there is a barrier between (x,y) and (x+1,y).
+ * Every row starts on a new word, so a board of size 64 or less uses exactly one word per row.
+ * <p>
+ * The words are stored in small chunks, which can be shared between copies: {@link #copy()} doesn't copy anything,
+ * and a chunk is only copied the first time one of the copies writes in it.
+ */
+public class WallBitboard implements Serializable {
+
+    /**
+     * Version of the class, to change when its saved form changes.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of words in a chunk, as a power of 2.
+     */
+    private static final int CHUNK_SHIFT = 3;
+    /**
+     * Mask giving the index of a word inside its chunk.
+     */
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    /**
+     * Size of the board.
+     */
+    private final int size;
+    /**
+     * Number of longs used for each row of the board.
+     */
+    private final int wordsPerRow;
+    /**
+     * Number of chunks of each bitset.
+     */
+    private final int chunksPerBitset;
+    /**
+     * Chunks of the two bitsets.
+     * The first half holds the horizontal wall slots, i.e. the barriers on the south side of a cell,
+     * the second half holds the vertical wall slots, i.e. the barriers on the east side of a cell.
+     * This array and the chunks may be shared with copies of the bitboard.
+     */
+    private long[][] chunks;
+    /**
+     * For every chunk, true if this bitboard is the only one using it and can write in it.
+     * It is null when the array of chunks itself is shared with a copy.
+     */
+    private boolean[] ownedChunks;
+
+    /**
+     * Constructor method for the WallBitboard class.
+     * It creates two empty bitsets, one for each orientation.
+     * @param size number of rows/columns of the board.
+     */
+    public WallBitboard(int size) {
+        this.size = size;
+        this.wordsPerRow = (size + 63) >>> 6;
+        this.chunksPerBitset = (size * this.wordsPerRow + CHUNK_MASK) >>> CHUNK_SHIFT;
+        this.chunks = new long[this.chunksPerBitset * 2][1 << CHUNK_SHIFT];
+        this.ownedChunks = new boolean[this.chunks.length];
+        Arrays.fill(this.ownedChunks, true);
+    }
+
+    /**
+     * Constructor used by {@link #copy()}.
+     * The copy shares every chunk of the original one.
+     * @param original the bitboard to copy.
+     */
+    private WallBitboard(WallBitboard original) {
+        this.size = original.size;
+        this.wordsPerRow = original.wordsPerRow;
+        this.chunksPerBitset = original.chunksPerBitset;
+        this.chunks = original.chunks;
+        this.ownedChunks = null;
+    }
+
+    /**
+     * Gives a copy of the bitboard, in constant time.
+     * Both bitboards share their chunks until one of them writes in a chunk, which only copies this chunk.
+     * A bitboard that owns no chunk, like a copy nobody has written in, isn't changed at all by this method,
+     * so the bitboard of a snapshot can be copied by several threads at once.
+     * @return a copy of the bitboard, independent of this one.
+     */
+    public WallBitboard copy() {
+        // From now on, every chunk is shared, so neither bitboard can write in it directly
+        if (this.ownedChunks != null) this.ownedChunks = null;
+        return new WallBitboard(this);
+    }
+
+    /**
+     * Checks if the bitboard owns any chunk, i.e. if writing in it could change a chunk in place.
+     * @return false if every chunk is shared, so that copying this bitboard writes nothing in it.
+     */
+    public boolean ownsChunks() {
+        return this.ownedChunks != null;
+    }
+
+    /**
+     * Getter method for the size.
+     * @return the size of the board.
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Getter method for the number of words per row.
+     * @return the number of longs used for each row of the board.
+     */
+    public int getWordsPerRow() {
+        return this.wordsPerRow;
+    }
+
+    /**
+     * Gives a word of the horizontal bitset.
+     * On a board of size 64 or less, the word y holds the whole row y.
+     * @param word index of the word.
+     * @return the word, the bit x being set if there is a barrier on the south side of the cell x.
+     */
+    public long getHorizontalWord(int word) {
+        return this.chunks[word >>> CHUNK_SHIFT][word & CHUNK_MASK];
+    }
+
+    /**
+     * Gives a word of the vertical bitset.
+     * On a board of size 64 or less, the word y holds the whole row y.
+     * @param word index of the word.
+     * @return the word, the bit x being set if there is a barrier on the east side of the cell x.
+     */
+    public long getVerticalWord(int word) {
+        return this.chunks[this.chunksPerBitset + (word >>> CHUNK_SHIFT)][word & CHUNK_MASK];
+    }
+
+    /**
+     * Checks if there is a barrier on one side of the cell (x,y).
+     * The border of the board is not a barrier here, see {@link EdgeWeightedGraph#isBlocked(int, int, Direction)} for that.
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction side of the cell to check.
+     * @return true if there is a barrier on this side of the cell.
+     */
+    public boolean isWall(int x, int y, Direction direction) {
+        return switch (direction) {
+            case NORTH -> y > 0 && this.testBit(0, x, y - 1);
+            case SOUTH -> this.testBit(0, x, y);
+            case WEST -> x > 0 && this.testBit(this.chunksPerBitset, x - 1, y);
+            case EAST -> this.testBit(this.chunksPerBitset, x, y);
+        };
+    }
+
+    /**
+     * Adds or removes a barrier on one side of the cell (x,y).
+     * @param x         x coordinate of the cell.
+     * @param y         y coordinate of the cell.
+     * @param direction side of the cell.
+     * @param wall      true to add the barrier, false to remove it.
+     */
+    public void setWall(int x, int y, Direction direction, boolean wall) {
+        switch (direction) {
+            case NORTH -> this.setBit(0, x, y - 1, wall);
+            case SOUTH -> this.setBit(0, x, y, wall);
+            case WEST -> this.setBit(this.chunksPerBitset, x - 1, y, wall);
+            case EAST -> this.setBit(this.chunksPerBitset, x, y, wall);
+        }
+    }
+
+    /**
+     * Tests the bit of the cell (x,y) in a bitset.
+     * @param firstChunk index of the first chunk of the bitset to read.
+     * @param x          x coordinate of the cell.
+     * @param y          y coordinate of the cell.
+     * @return the value of the bit.
+     */
+    private boolean testBit(int firstChunk, int x, int y) {
+        int word = y * this.wordsPerRow + (x >>> 6);
+        return (this.chunks[firstChunk + (word >>> CHUNK_SHIFT)][word & CHUNK_MASK] & (1L << x)) != 0;
+    }
+
+    /**
+     * Sets or clears the bit of the cell (x,y) in a bitset.
+     * If the chunk of the bit is shared with a copy, we copy it first.
+     * @param firstChunk index of the first chunk of the bitset to write in.
+     * @param x          x coordinate of the cell.
+     * @param y          y coordinate of the cell.
+     * @param value      new value of the bit.
+     */
+    private void setBit(int firstChunk, int x, int y, boolean value) {
+        int word = y * this.wordsPerRow + (x >>> 6);
+        int chunk = firstChunk + (word >>> CHUNK_SHIFT);
+
+        if (this.ownedChunks == null) {
+            // The array of chunks is shared, we take our own, the chunks themselves stay shared
+            this.chunks = this.chunks.clone();
+            this.ownedChunks = new boolean[this.chunks.length];
+        }
+        if (!this.ownedChunks[chunk]) {
+            this.chunks[chunk] = this.chunks[chunk].clone();
+            this.ownedChunks[chunk] = true;
+        }
+
+        if (value) {
+            this.chunks[chunk][word & CHUNK_MASK] |= 1L << x;
+        } else {
+            this.chunks[chunk][word & CHUNK_MASK] &= ~(1L << x);
+        }
+    }
+
+    /**
+     * Returns a string representation of the WallBitboard object.
+     * @return A string representation of the bitsets, one row per line, with 'h' for a horizontal barrier, 'v' for a vertical one and '+' for both.
+     */
+    @Override
+    public String toString() {
+        StringBuilder display = new StringBuilder();
+        for (int y = 0; y < this.size; y++) {
+            for (int x = 0; x < this.size; x++) {
+                boolean h = this.testBit(0, x, y);
+                boolean v = this.testBit(this.chunksPerBitset, x, y);
+                display.append(h && v ? '+' : h ? 'h' : v ? 'v' : '.');
+            }
+            display.append("\n");
+        }
+        return display.toString();
+    }
+}
@@ -0,0 +1,239 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * WallChainTracker groups the barriers that touch each other in chains, with a disjoint-set structure.
+ * The barriers are seen as segments between the corners of the cells, and the border of the board is a single special node
+ * (the four sides meet at the corners of the board, so they always form one ring).
+ * <p>
+ * A region of the board can only be closed if a new barrier links two corners that are already in the same chain.
+ * Otherwise, the barrier only extends a chain or merges two chains, and no player can be cut from his side by it.
+ * <p>
+ * The trees aren't flattened when we search for a root, so every merge can be undone: the barriers can be removed in the reverse order of their addition.
+ */
+public class WallChainTracker {
+
+    /**
+     * Size of the board.
+     */
+    private final int size;
+    /**
+     * Index of the node representing the border of the board.
+     */
+    private final int border;
+    /**
+     * Parent of every corner in the disjoint-set structure.
+     * The corner (x,y) has the index y*(size+1) + x, the border has the last index.
+     * The corners on the border are never used, they are replaced by the border node.
+     */
+    private final int[] parents;
+    /**
+     * Number of corners in the set of every root, used to keep the trees flat.
+     */
+    private final int[] sizes;
+    /**
+     * Roots attached to another root by every merge, in order, or -1 if the merge did nothing.
+     * Every barrier adds two entries.
+     */
+    private int[] history;
+    /**
+     * Number of entries in the history.
+     */
+    private int historyCount;
+
+    /**
+     * Constructor method for the WallChainTracker class.
+     * Every corner starts alone in its set.
+     * @param size size of the board.
+     */
+    public WallChainTracker(int size) {
+        this.size = size;
+        this.border = (size + 1) * (size + 1);
+        this.parents = new int[this.border + 1];
+        this.sizes = new int[this.border + 1];
+        this.history = new int[16];
+        this.clear();
+    }
+
+    /**
+     * Removes every barrier from the tracker.
+     */
+    public void clear() {
+        for (int i = 0; i < this.parents.length; i++) {
+            this.parents[i] = i;
+            this.sizes[i] = 1;
+        }
+        this.historyCount = 0;
+    }
+
+    /**
+     * Checks if a barrier on two edges would link two corners already in the same chain, and so close a region.
+     * @param e first edge of the barrier.
+     * @param f second edge of the barrier.
+     * @return true if the barrier closes a loop with other barriers or the border.
+     */
+    public boolean wouldCloseLoop(Edge e, Edge f) {
+        Position cell = this.upperLeftCell(e);
+        Position other = this.upperLeftCell(f);
+        return this.wouldCloseLoop(Math.min(cell.getX(), other.getX()), Math.min(cell.getY(), other.getY()), isVerticalEdge(e));
+    }
+
+    /**
+     * Checks if a barrier would link two corners already in the same chain, and so close a region.
+     * A barrier is a segment between three corners: its two ends and its centre.
+     * @param x          x coordinate of the anchor of the barrier, the top left cell of the 2x2 block of cells it separates.
+     * @param y          y coordinate of the anchor of the barrier.
+     * @param horizontal true for a horizontal barrier, false for a vertical one.
+     * @return true if the barrier closes a loop with other barriers or the border.
+     */
+    public boolean wouldCloseLoop(int x, int y, boolean horizontal) {
+        int first = this.find(this.firstEnd(x, y, horizontal));
+        int centre = this.find(this.corner(x + 1, y + 1));
+        int last = this.find(this.lastEnd(x, y, horizontal));
+
+        return first == centre || centre == last || first == last;
+    }
+
+    /**
+     * Adds a barrier on two edges to the chains.
+     * @param e first edge of the barrier.
+     * @param f second edge of the barrier.
+     */
+    public void addBarrier(Edge e, Edge f) {
+        Position cell = this.upperLeftCell(e);
+        Position other = this.upperLeftCell(f);
+        this.addBarrier(Math.min(cell.getX(), other.getX()), Math.min(cell.getY(), other.getY()), isVerticalEdge(e));
+    }
+
+    /**
+     * Adds a barrier to the chains, linking its two ends to its centre.
+     * @param x          x coordinate of the anchor of the barrier.
+     * @param y          y coordinate of the anchor of the barrier.
+     * @param horizontal true for a horizontal barrier, false for a vertical one.
+     */
+    public void addBarrier(int x, int y, boolean horizontal) {
+        this.union(this.firstEnd(x, y, horizontal), this.corner(x + 1, y + 1));
+        this.union(this.corner(x + 1, y + 1), this.lastEnd(x, y, horizontal));
+    }
+
+    /**
+     * Removes the last barrier added to the chains, undoing its two merges.
+     * Nothing happens if there is no barrier.
+     */
+    public void removeLastBarrier() {
+        for (int i = 0; i < 2 && this.historyCount > 0; i++) {
+            int child = this.history[--this.historyCount];
+            if (child < 0) continue;
+
+            int root = this.parents[child];
+            this.sizes[root] -= this.sizes[child];
+            this.parents[child] = child;
+        }
+    }
+
+    /**
+     * Gives the corner where a barrier starts, on its left if it is horizontal, on its top if it is vertical.
+     * @param x          x coordinate of the anchor of the barrier.
+     * @param y          y coordinate of the anchor of the barrier.
+     * @param horizontal true for a horizontal barrier, false for a vertical one.
+     * @return the index of the corner.
+     */
+    private int firstEnd(int x, int y, boolean horizontal) {
+        return horizontal ? this.corner(x, y + 1) : this.corner(x + 1, y);
+    }
+
+    /**
+     * Gives the corner where a barrier ends, on its right if it is horizontal, at the bottom if it is vertical.
+     * @param x          x coordinate of the anchor of the barrier.
+     * @param y          y coordinate of the anchor of the barrier.
+     * @param horizontal true for a horizontal barrier, false for a vertical one.
+     * @return the index of the corner.
+     */
+    private int lastEnd(int x, int y, boolean horizontal) {
+        return horizontal ? this.corner(x + 2, y + 1) : this.corner(x + 1, y + 2);
+    }
+
+    /**
+     * Checks if an edge goes from a cell to the one below or above it, i.e. if the barrier blocking it is horizontal.
+     * @param edge the edge.
+     * @return true if both cells of the edge are in the same column.
+     */
+    private static boolean isVerticalEdge(Edge edge) {
+        return edge.getSource().getX() == edge.getTarget().getX();
+    }
+
+    /**
+     * Gives the cell of an edge which is the most on the top or the left.
+     * @param edge the edge.
+     * @return the source or the target of the edge.
+     */
+    private Position upperLeftCell(Edge edge) {
+        Position source = edge.getSource();
+        Position target = edge.getTarget();
+        return source.getX() + source.getY() <= target.getX() + target.getY() ? source : target;
+    }
+
+    /**
+     * Gives the index of a corner.
+     * @param x x coordinate of the corner, between 0 and size.
+     * @param y y coordinate of the corner, between 0 and size.
+     * @return the index of the corner.
+     */
+    private int corner(int x, int y) {
+        return y * (this.size + 1) + x;
+    }
+
+    /**
+     * Gives the node of a corner in the disjoint-set structure, the corners on the border all being the border node.
+     * @param corner index of the corner.
+     * @return the index of the node.
+     */
+    private int node(int corner) {
+        int x = corner % (this.size + 1);
+        int y = corner / (this.size + 1);
+        return x == 0 || y == 0 || x == this.size || y == this.size ? this.border : corner;
+    }
+
+    /**
+     * Finds the root of the set of a corner.
+     * The trees are merged by size, so their height stays logarithmic without flattening them.
+     * @param corner index of the corner.
+     * @return the index of the root.
+     */
+    private int find(int corner) {
+        corner = this.node(corner);
+        while (this.parents[corner] != corner) {
+            corner = this.parents[corner];
+        }
+        return corner;
+    }
+
+    /**
+     * Merges the sets of two corners.
+     * The merge is recorded in the history, so it can be undone by {@link #removeLastBarrier()}.
+     * @param a index of the first corner.
+     * @param b index of the second corner.
+     */
+    private void union(int a, int b) {
+        int rootA = this.find(a);
+        int rootB = this.find(b);
+
+        if (this.historyCount == this.history.length) {
+            this.history = Arrays.copyOf(this.history, this.historyCount * 2);
+        }
+        if (rootA == rootB) {
+            this.history[this.historyCount++] = -1;
+            return;
+        }
+
+        if (this.sizes[rootA] < this.sizes[rootB]) {
+            int temp = rootA;
+            rootA = rootB;
+            rootB = temp;
+        }
+        this.parents[rootB] = rootA;
+        this.sizes[rootA] += this.sizes[rootB];
+        this.history[this.historyCount++] = rootB;
+    }
+}
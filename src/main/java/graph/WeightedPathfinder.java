@@ -0,0 +1,176 @@
+package graph;
+
+import enumeration.Color;
+import enumeration.Direction;
+import exception.BadPositionException;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * WeightedPathfinder computes the cheapest paths from a Position to the side a player needs to reach, taking the weights of the edges into account.
+ * An edge of weight 0 costs 1 move, an edge of weight 1 is a barrier, and an edge of a greater weight is a slower terrain costing its weight,
+ * see {@link EdgeWeightedGraph#getMoveCost(int, int, Direction)}.
+ * <p>
+ * Both searches use a {@link BucketQueue}, the costs being small integers.
+ * Dijkstra visits the cells by increasing cost, A* by increasing cost plus the number of rows (or columns) left to the side,
+ * which never overestimates the remaining cost since every move costs at least 1.
+ */
+public final class WeightedPathfinder {
+
+    /**
+     * Every direction, in the order of their ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The constructor is useless for this class because it only contains static methods.
+     */
+    private WeightedPathfinder(){}
+
+    /**
+     * Gives the number of rows (or columns) between the cell (x,y) and the side a player of a given color needs to reach.
+     * It is a lower bound of the cost of any path to the side.
+     * @param x     x coordinate of the cell.
+     * @param y     y coordinate of the cell.
+     * @param size  size of the board.
+     * @param color color of the player.
+     * @return the number of moves needed to reach the side if there were no barrier.
+     */
+    public static int goalLowerBound(int x, int y, int size, Color color) {
+        return switch (color) {
+            case BLUE -> y;
+            case YELLOW -> size - 1 - y;
+            case GREEN -> x;
+            case RED -> size - 1 - x;
+        };
+    }
+
+    /**
+     * Computes the cheapest path from a Position to the side with Dijkstra's algorithm.
+     * @param graph     graph representing the board.
+     * @param start     Position of the player.
+     * @param color     color of the player.
+     * @param keepCosts if true, the whole board is explored and the cost of every cell from the start is kept in the result.
+     * @return the cost of the path, the next step on it, and the costs of every cell if asked for.
+     */
+    public static PathResult dijkstra(EdgeWeightedGraph graph, Position start, Color color, boolean keepCosts) {
+        return search(graph, start, color, false, keepCosts, null);
+    }
+
+    /**
+     * Computes the cheapest path from a Position to the side with A*.
+     * The search goes towards the side first, so it usually visits far fewer cells than Dijkstra's algorithm.
+     * @param graph graph representing the board.
+     * @param start Position of the player.
+     * @param color color of the player.
+     * @return the cost of the path and the next step on it.
+     */
+    public static PathResult aStar(EdgeWeightedGraph graph, Position start, Color color) {
+        return search(graph, start, color, true, false, null);
+    }
+
+    /**
+     * Checks if a player of a given color can reach his side from a Position, with A*.
+     * @param graph graph representing the board.
+     * @param start Position of the player.
+     * @param color color of the player.
+     * @return true if the side can be reached.
+     */
+    public static boolean isGoalReachable(EdgeWeightedGraph graph, Position start, Color color) {
+        return aStar(graph, start, color).isReachable();
+    }
+
+    /**
+     * Checks if a player of a given color can reach his side from a Position, with A*, stopping early if the search is cancelled.
+     * It is meant for searches running in parallel, see {@link ParallelReachability}.
+     * @param graph     graph representing the board.
+     * @param start     Position of the player.
+     * @param color     color of the player.
+     * @param cancelled flag checked regularly during the search, the search gives up as soon as it is set.
+     * @return true if the side can be reached, false if it can't or if the search has been cancelled.
+     */
+    public static boolean isGoalReachable(EdgeWeightedGraph graph, Position start, Color color, AtomicBoolean cancelled) {
+        return search(graph, start, color, true, false, cancelled).isReachable();
+    }
+
+    /**
+     * Main method of both searches.
+     * A cell is closed the first time it is taken out of the queue, at which point its cost is final: the lower bound never decreases
+     * by more than 1 along a move, so it never makes a cell come out of the queue too early.
+     * @param graph        graph representing the board.
+     * @param start        Position of the player.
+     * @param color        color of the player.
+     * @param useHeuristic if true, the priority of a cell is its cost plus its lower bound (A*), otherwise it is its cost (Dijkstra).
+     * @param keepCosts    if true, the search doesn't stop at the side and the costs are returned.
+     * @param cancelled    flag to give up the search when it is set, or null if the search can't be cancelled.
+     * @return the result of the search, with no path if it has been cancelled.
+     */
+    private static PathResult search(EdgeWeightedGraph graph, Position start, Color color, boolean useHeuristic, boolean keepCosts, AtomicBoolean cancelled) {
+        int size = graph.getSize();
+        int startIndex = start.toAdjacencyListIndex(size);
+
+        int[] costs = new int[size * size];
+        Arrays.fill(costs, DistanceService.UNREACHABLE);
+        boolean[] closed = new boolean[size * size];
+        // For every cell, the index of the neighbour of the start through which we reached it
+        int[] firstSteps = new int[size * size];
+        BucketQueue queue = new BucketQueue(8);
+
+        costs[startIndex] = 0;
+        queue.add(useHeuristic ? goalLowerBound(start.getX(), start.getY(), size, color) : 0, startIndex);
+        int goalIndex = DistanceService.UNREACHABLE;
+        int visited = 0;
+
+        while (!queue.isEmpty()) {
+            // Reading the flag has a cost, so we only do it once in a while
+            if (cancelled != null && (++visited & 0xFF) == 0 && cancelled.get()) break;
+
+            int index = BucketQueue.value(queue.poll());
+            // A cell can be in the queue several times, only its first exit counts
+            if (closed[index]) continue;
+            closed[index] = true;
+
+            int x = index % size;
+            int y = index / size;
+
+            // The first cell of the side that comes out of the queue is the cheapest one
+            if (goalIndex == DistanceService.UNREACHABLE && DistanceService.isGoal(x, y, size, color)) {
+                goalIndex = index;
+                if (!keepCosts) break;
+            }
+
+            for (Direction direction : DIRECTIONS) {
+                int cost = graph.getMoveCost(x, y, direction);
+                if (cost == DistanceService.UNREACHABLE) continue;
+
+                int nextX = x + direction.getXOffset();
+                int nextY = y + direction.getYOffset();
+                int next = nextY * size + nextX;
+                int nextCost = costs[index] + cost;
+
+                if (closed[next] || costs[next] != DistanceService.UNREACHABLE && costs[next] <= nextCost) continue;
+
+                costs[next] = nextCost;
+                firstSteps[next] = index == startIndex ? next : firstSteps[index];
+                queue.add(useHeuristic ? nextCost + goalLowerBound(nextX, nextY, size, color) : nextCost, next);
+            }
+        }
+
+        if (goalIndex == DistanceService.UNREACHABLE) {
+            return new PathResult(DistanceService.UNREACHABLE, null, keepCosts ? costs : null);
+        }
+
+        Position nextStep = null;
+        if (goalIndex != startIndex) {
+            try {
+                nextStep = Position.fromAdjacencyListIndex(firstSteps[goalIndex], size);
+            }
+            catch (BadPositionException bpe) {
+                bpe.printStackTrace();
+            }
+        }
+
+        return new PathResult(costs[goalIndex], nextStep, keepCosts ? costs : null);
+    }
+}
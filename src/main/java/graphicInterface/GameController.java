@@ -1,12 +1,10 @@
 package graphicInterface;
 
-import enumeration.Direction;
 import exception.*;
-import gameObjects.Barrier;
 import gameObjects.Board;
 import gameObjects.Game;
 import gameObjects.Player;
-import graph.Edge;
+import gameObjects.WallSlot;
 import graph.Position;
 import javafx.animation.Animation;
 import javafx.animation.Interpolator;
@@ -177,6 +175,9 @@ public class GameController {
         initBarriers(playersAndBarriersPane, panePadding, gridGap, boxSize);
         playersAndBarriersPane.getChildren().addAll(playerListFx);
 
+        // The readers of the game start from the new or resumed state
+        game.publishState();
+
         // Turns
         gameTurn(playerListFx, playersAndBarriersPane, panePadding, gridGap, boxSize);
     }
@@ -220,11 +221,10 @@ public class GameController {
      * @param panePadding The padding of the pane.
      * @param gridGap The gap between grid cells.
      * @param boxSize The size of each grid cell.
-     * @throws BadBarrierEdgesException if the barrier edges are invalid.
      */
-    public void initBarriers(Pane playersAndBarriersPane, double panePadding, long gridGap, double boxSize) throws BadBarrierEdgesException {
-        for(Barrier barrier : game.getBoard().getBarriers()) {
-            Rectangle rectangle = createBarrier(barrier.getEdge1(), barrier.getEdge2(), false, panePadding, gridGap, boxSize);
+    public void initBarriers(Pane playersAndBarriersPane, double panePadding, long gridGap, double boxSize) {
+        for(int slot : game.getBoard().getWallSlots()) {
+            Rectangle rectangle = createBarrier(slot, false, panePadding, gridGap, boxSize);
             playersAndBarriersPane.getChildren().add(rectangle);
         }
     }
@@ -249,20 +249,14 @@ public class GameController {
 
         // Show all possible moves to the player
         ArrayList<Circle> ghostPlayers = new ArrayList<>(); // There can be at most 6 ghost players
-        int[][] possibleMovesOffsets = new int[][]{{0, -2}, {-1, -1}, {0, -1}, {1, -1}, {-2, 0}, {-1, 0}, {1, 0}, {2, 0}, {-1, 1}, {0, 1}, {1, 1}, {0, 2}};
-        for (int[] offsets : possibleMovesOffsets) {
-            int x = currentPlayer.getPosition().getX() + offsets[0];
-            int y = currentPlayer.getPosition().getY() + offsets[1];
-            boolean isMoveValid = currentPlayer.isMoveValid(x, y, game.getBoard(), game.getPlayers());
-
-            if (isMoveValid) {
-                Circle ghostPlayer = createPlayer(currentPlayerId, new Position(x, y), true, panePadding, gridGap, boxSize);
-                ghostPlayer.setOnMouseEntered(e -> ghostPlayer.setCursor(Cursor.HAND));
-                ghostPlayer.setOnMouseExited(e -> ghostPlayer.setCursor(Cursor.DEFAULT));
-
-                playersAndBarriersPane.getChildren().add(ghostPlayer);
-                ghostPlayers.add(ghostPlayer);
-            }
+        // Every legal move is computed at once, as the adjacency list index of its destination
+        for (int move : currentPlayer.legalMoves(game.getBoard())) {
+            Circle ghostPlayer = createPlayer(currentPlayerId, Position.fromAdjacencyListIndex(move, game.getBoard().getSize()), true, panePadding, gridGap, boxSize);
+            ghostPlayer.setOnMouseEntered(e -> ghostPlayer.setCursor(Cursor.HAND));
+            ghostPlayer.setOnMouseExited(e -> ghostPlayer.setCursor(Cursor.DEFAULT));
+
+            playersAndBarriersPane.getChildren().add(ghostPlayer);
+            ghostPlayers.add(ghostPlayer);
         }
 
         // Handle player's turn
@@ -276,17 +270,20 @@ public class GameController {
             try {
                 if (game.checkVictory() == null) {
                     if (event.getButton() == MouseButton.PRIMARY) {
-                        Position newPos = new Position(pxCoordsToPlayerCoords(event.getX(), event.getY(), panePadding, gridGap, boxSize));
-                        if (newPos.getX() >= game.getBoard().getSize() || newPos.getY() >= game.getBoard().getSize()) throw new BadPositionException();
-                        boolean isMoveValid = currentPlayer.move(newPos.getX(), newPos.getY(), game.getBoard(), game.getPlayers());
+                        int[] playerCoords = pxCoordsToPlayerCoords(event.getX(), event.getY(), panePadding, gridGap, boxSize);
+                        // A click outside the board is rejected like any other invalid move, without building a Position
+                        boolean isMoveValid = currentPlayer.tryMove(playerCoords[0], playerCoords[1], game.getBoard()).isValid();
                         if (isMoveValid) {
-                            double[] newCoords = playerCoordsToPxCoords(newPos, panePadding, gridGap, boxSize);
+                            double[] newCoords = playerCoordsToPxCoords(currentPlayer.getPosition(), panePadding, gridGap, boxSize);
                             playerListFx[currentPlayerId].setCenterX(newCoords[0]);
                             playerListFx[currentPlayerId].setCenterY(newCoords[1]);
 
                             if (game.checkVictory() == null) {
                                 goToNextTurn(playerListFx, ghostPlayers, playersAndBarriersPane, isModeMovePlayer, isBarrierHorizontal, panePadding, gridGap, boxSize);
                             } else {
+                                // The winning move ends the game without going to the next turn, so we publish it here
+                                game.publishState();
+
                                 // Remove ghost players
                                 for (Circle gp : ghostPlayers) {
                                     playersAndBarriersPane.getChildren().remove(gp);
@@ -309,7 +306,7 @@ public class GameController {
                                 double textSize = text.getLayoutBounds().getWidth();
 
                                 // Display and align everything
-                                Circle winner = createPlayer(currentPlayerId, new Position(0, 0), false, panePadding, gridGap, boxSize);
+                                Circle winner = createPlayer(currentPlayerId, Position.of(0, 0, game.getBoard().getSize()), false, panePadding, gridGap, boxSize);
                                 winner.setRadius(winner.getRadius() * game.getBoard().getSize() / 9);
                                 topStackPane.getChildren().add(winner);
                                 StackPane.setMargin(winner, new Insets(0, textSize * 1.5, 0, 0));
@@ -367,14 +364,14 @@ public class GameController {
             public void handle(MouseEvent event) {
                 if (event.getButton() == MouseButton.PRIMARY) {
                     try {
-                        // Convert mouse coordinates to barrier coordinates
-                        Edge[] edges = pxCoordsToBarrierCoords(event.getX(), event.getY(), game.getBoard(), isBarrierHorizontal.get(), panePadding, gridGap, boxSize);
-                        if (edges != null) {
-                            // Check if the obtained edges are valid for placing a barrier
-                            boolean isBarrierValid = currentPlayer.placeBarrier(edges[0], edges[1], game.getBoard(), game.getPlayers(), game.getBoard().getBarriers());
+                        // Convert mouse coordinates to the slot of a barrier
+                        int slot = pxCoordsToWallSlot(event.getX(), event.getY(), game.getBoard().getSize(), isBarrierHorizontal.get(), panePadding, gridGap, boxSize);
+                        if (slot != WallSlot.NONE) {
+                            // Check if the obtained slot is valid for placing a barrier
+                            boolean isBarrierValid = currentPlayer.tryPlaceBarrier(slot, game.getBoard(), game.getPlayers()).isValid();
                             if (isBarrierValid) {
                                 // Create a rectangle representing the barrier and add it to the playersAndBarriersPane
-                                Rectangle rectangle = createBarrier(edges[0], edges[1], false, panePadding, gridGap, boxSize);
+                                Rectangle rectangle = createBarrier(slot, false, panePadding, gridGap, boxSize);
                                 playersAndBarriersPane.getChildren().add(rectangle);
 
                                 // Update the barrier count label
@@ -511,6 +508,7 @@ public class GameController {
         ghostPlayers.clear();
 
         game.turnCountIncrement();
+        game.publishState();
         gameTurn(playerListFx, playersAndBarriersPane, panePadding, gridGap, boxSize);
     }
 
@@ -606,32 +604,17 @@ public class GameController {
 
     // For Barrier
     /**
-     * Creates a graphical representation of a barrier under or on the right of the two given positions.
-     * @param e1 The first edge of the barrier.
-     * @param e2 The second edge of the barrier.
+     * Creates a graphical representation of a barrier under or on the right of its anchor.
+     * @param slot The slot of the barrier, see {@link WallSlot}.
      * @param isGhost Whether the barrier is a ghost one or not
      * @param panePadding The padding value for the pane.
      * @param gridGap The gap between each box
      * @param boxSize The size of each box in the grid
      * @return The Rectangle object representing the barrier.
-     * @throws BadBarrierEdgesException If the positions do not form a valid horizontal or vertical barrier.
      */
-    private Rectangle createBarrier(Edge e1, Edge e2, boolean isGhost, double panePadding, long gridGap, double boxSize) throws BadBarrierEdgesException {
-        // Normalize the edges and obtain the corresponding positions
-        Position[] positions1 = new Position[2];
-        e1.normalizeEdgePositions(positions1, game.getBoard());
-        Position[] positions2 = new Position[2];
-        e2.normalizeEdgePositions(positions2, game.getBoard());
-
-        // Sort the positions to ensure consistent barrier representation
-        Position pos1 = positions1[0];
-        Position pos2 = positions2[0];
-
-        if (pos1.toAdjacencyListIndex(game.getBoard().getSize()) > pos2.toAdjacencyListIndex(game.getBoard().getSize())) {
-            Position tempPos = pos1;
-            pos1 = pos2;
-            pos2 = tempPos;
-        }
+    private Rectangle createBarrier(int slot, boolean isGhost, double panePadding, long gridGap, double boxSize) {
+        int anchorX = WallSlot.getX(slot);
+        int anchorY = WallSlot.getY(slot);
 
         // Create a new rectangle to represent the barrier
         Rectangle barrier = new Rectangle();
@@ -647,24 +630,17 @@ public class GameController {
 
         double barrierX, barrierY, barrierWidth, barrierHeight;
 
-        // Determine the position and dimensions of the barrier based on the edge positions
-        if (pos2.getX() - pos1.getX() == 1 && pos2.getY() - pos1.getY() == 0) {
-            // Horizontal barrier
-            barrierX = panePadding + pos1.getX() * (boxSize + gridGap);
-            barrierY = panePadding + pos1.getY() * gridGap + (pos1.getY() + 1) * boxSize - gridGap * ((BARRIER_SIZE - 1) / 2);
+        // Determine the position and dimensions of the barrier from its anchor
+        if (WallSlot.isHorizontal(slot)) {
+            barrierX = panePadding + anchorX * (boxSize + gridGap);
+            barrierY = panePadding + anchorY * gridGap + (anchorY + 1) * boxSize - gridGap * ((BARRIER_SIZE - 1) / 2);
             barrierWidth = 2 * boxSize + gridGap;
             barrierHeight = gridGap * BARRIER_SIZE;
         } else {
-            // Vertical barrier
-            if (pos2.getX() - pos1.getX() == 0 && pos2.getY() - pos1.getY() == 1) {
-                barrierX = panePadding + pos1.getX() * gridGap + (pos1.getX() + 1) * boxSize - gridGap * ((BARRIER_SIZE - 1) / 2);
-                barrierY = panePadding + pos1.getY() * (boxSize + gridGap);
-                barrierWidth = gridGap * BARRIER_SIZE;
-                barrierHeight = 2 * boxSize + gridGap;
-            } else {
-                // Invalid barrier edge
-                throw new BadBarrierEdgesException("The given edges are not adjacent and thus cannot create a barrier.");
-            }
+            barrierX = panePadding + anchorX * gridGap + (anchorX + 1) * boxSize - gridGap * ((BARRIER_SIZE - 1) / 2);
+            barrierY = panePadding + anchorY * (boxSize + gridGap);
+            barrierWidth = gridGap * BARRIER_SIZE;
+            barrierHeight = 2 * boxSize + gridGap;
         }
 
         // Set the position and dimensions of the barrier
@@ -677,35 +653,26 @@ public class GameController {
     }
 
     /**
-     * Convert pixel coordinates to barrier coordinates on the game board.
+     * Convert pixel coordinates to the slot of a barrier on the game board, with plain arithmetic.
      * @param x The x pixel coordinate.
      * @param y The y pixel coordinate
-     * @param board The game board.
+     * @param size The size of the game board.
      * @param isBarrierHorizontal A boolean indicating whether the barrier is horizontal (true) or vertical (false).
      * @param panePadding The padding value for the pane.
      * @param gridGap The gap between each box
      * @param boxSize The size of each box in the grid.
-     * @return An array containing the two edges forming the barrier.
-     * @throws BadPositionException If the calculated positions are invalid or out of bounds.
+     * @return The slot of the barrier, or {@link WallSlot#NONE} if the coordinates are outside the board.
      */
-    private Edge[] pxCoordsToBarrierCoords(double x, double y, Board board, boolean isBarrierHorizontal, double panePadding, long gridGap, double boxSize) throws BadPositionException {
-        Edge[] edges = new Edge[2];
-
+    private int pxCoordsToWallSlot(double x, double y, int size, boolean isBarrierHorizontal, double panePadding, long gridGap, double boxSize) {
         if (isBarrierHorizontal) {
             // Convert pixel coordinates to barrier coordinates for a horizontal barrier
             double newX = floor((x - panePadding) / (boxSize + gridGap));
             double newY = (y - panePadding + (double) gridGap / 2) / (boxSize + gridGap);
 
             // Check if the click was within a little margin in Y, return the closest value if so
-            if (round(newY) > 0 && round(newY) < board.getSize() && abs(round(newY) - newY) <= BARRIER_HIT_BOX) {
-                newY = round(newY) - 1;
-
-                // Obtain the edge positions for the barrier
-                Position pos = new Position((int) newX, (int) newY);
-                edges[0] = pos.getNeighbourEdges(board).get(Direction.SOUTH);
-                edges[1] = pos.getNeighbourPositions(board).get(newX == board.getSize() - 1 ? Direction.WEST : Direction.EAST).getNeighbourEdges(board).get(Direction.SOUTH); // If at the border, the barrier is from right to left instead
-            } else {
-                return null; // Invalid coordinates for barrier placement
+            if (newX >= 0 && newX < size && round(newY) > 0 && round(newY) < size && abs(round(newY) - newY) <= BARRIER_HIT_BOX) {
+                // If at the border, the barrier is from right to left instead
+                return WallSlot.of(min((int) newX, size - 2), (int) round(newY) - 1, true);
             }
         } else {
             // Convert pixel coordinates to barrier coordinates for a vertical barrier
@@ -713,19 +680,13 @@ public class GameController {
             double newY = floor((y - panePadding) / (boxSize + gridGap));
 
             // Check if the click was within a little margin in X, return the closest value if so
-            if (round(newX) > 0 && round(newX) < board.getSize() && abs(round(newX) - newX) <= BARRIER_HIT_BOX) {
-                newX = round(newX) - 1;
-
-                // Obtain the edge positions for the barrier
-                Position pos = new Position((int) newX, (int) newY);
-                edges[0] = pos.getNeighbourEdges(board).get(Direction.EAST);
-                edges[1] = pos.getNeighbourPositions(board).get(newY == board.getSize() - 1 ? Direction.NORTH : Direction.SOUTH).getNeighbourEdges(board).get(Direction.EAST); // If at the border, the barrier is from bottom to top instead
-            } else {
-                return null; // Invalid coordinates for placement
+            if (newY >= 0 && newY < size && round(newX) > 0 && round(newX) < size && abs(round(newX) - newX) <= BARRIER_HIT_BOX) {
+                // If at the border, the barrier is from bottom to top instead
+                return WallSlot.of((int) round(newX) - 1, min((int) newY, size - 2), false);
             }
         }
 
-        return edges;
+        return WallSlot.NONE; // Invalid coordinates for barrier placement
     }
 
     /**
@@ -746,15 +707,24 @@ public class GameController {
         if (x > 0 && x < mainStackPane.getHeight() - panePadding * 2 && y > 0 && y < mainStackPane.getHeight() - panePadding * 2) {
             if (!isModeMovePlayer.get()) {
                 try {
-                    Edge[] edges = pxCoordsToBarrierCoords(x + panePadding, y + panePadding, game.getBoard(), isBarrierHorizontal.get(), panePadding, gridGap, boxSize);
-                    if (edges != null && (lastBarrierX.get() != edges[0].getSource().getX() || lastBarrierY.get() != edges[0].getSource().getY())) {
-                        Rectangle ghostBarrier = createBarrier(edges[0], edges[1], true, panePadding, gridGap, boxSize);
+                    int slot = pxCoordsToWallSlot(x + panePadding, y + panePadding, game.getBoard().getSize(), isBarrierHorizontal.get(), panePadding, gridGap, boxSize);
+                    // The barrier is anchored on the top left cell of the 2x2 block of cells it separates
+                    int anchorX = WallSlot.getX(slot);
+                    int anchorY = WallSlot.getY(slot);
+                    if (slot != WallSlot.NONE && (lastBarrierX.get() != anchorX || lastBarrierY.get() != anchorY)) {
+                        Rectangle ghostBarrier = createBarrier(slot, true, panePadding, gridGap, boxSize);
+
+                        // Show in red the barriers that can't be placed, which is a bit test as long as nothing has moved
+                        if (!game.getBoard().isBarrierLegal(anchorX, anchorY, isBarrierHorizontal.get(), game.getPlayers())) {
+                            ghostBarrier.setFill(new Color(1, 0, 0, 0.5));
+                        }
+
                         ghostBarrier.setOnMouseEntered(e -> ghostBarrier.setCursor(Cursor.HAND));
                         ghostBarrier.setOnMouseExited(e -> ghostBarrier.setCursor(Cursor.DEFAULT));
                         playersAndBarriersPane.getChildren().add(ghostBarrier);
                         previousGhostBarrier[0] = ghostBarrier;
-                        lastBarrierX.set(edges[0].getSource().getX());
-                        lastBarrierY.set(edges[0].getSource().getY());
+                        lastBarrierX.set(anchorX);
+                        lastBarrierY.set(anchorY);
                     }
                 } catch (Exception ex) {
                     ex.printStackTrace();
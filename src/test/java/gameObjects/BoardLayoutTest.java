@@ -0,0 +1,233 @@
+package gameObjects;
+
+import enumeration.BarrierResult;
+import enumeration.Color;
+import enumeration.Direction;
+import enumeration.GraphLayout;
+import enumeration.MoveResult;
+import graph.DistanceService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that both layouts of a {@link Board} take the same decisions, and that the fast checks of the barriers give what a plain search gives.
+ */
+class BoardLayoutTest {
+
+    /**
+     * Every direction, in the order of their ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The same random moves and barriers, played on a compact board and on a board with adjacency lists, must be accepted or refused for the same reason,
+     * and a barrier must be refused for cutting a path exactly when a breadth-first search finds a player with no path left.
+     * @throws Exception if a board can't be built.
+     */
+    @Test
+    void layoutsTakeTheSameDecisions() throws Exception {
+        Random random = new Random(18);
+
+        for (int round = 0; round < 200; round++) {
+            int size = new int[]{3, 5, 7, 9}[random.nextInt(4)];
+            Game compact = new Game();
+            compact.initGame(random.nextBoolean() ? 2 : 4, size);
+            Game adjacency = copyOf(compact, GraphLayout.ADJACENCY_LIST);
+            assertEquals(GraphLayout.COMPACT, compact.getBoard().getLayout());
+
+            for (int turn = 0; turn < 120 && compact.checkVictory() == null; turn++) {
+                int index = compact.getCurrentPlayerTurn();
+                Player player = compact.getPlayers().get(index);
+
+                if (random.nextInt(3) == 0) {
+                    int x = player.getPosition().getX() + random.nextInt(5) - 2;
+                    int y = player.getPosition().getY() + random.nextInt(5) - 2;
+                    if (x < 0 || y < 0 || x >= size || y >= size) continue;
+
+                    MoveResult result = player.tryMove(x, y, compact.getBoard());
+                    assertEquals(result, adjacency.getPlayers().get(index).tryMove(x, y, adjacency.getBoard()));
+                    if (result.isValid()) {
+                        compact.turnCountIncrement();
+                        adjacency.turnCountIncrement();
+                    }
+                } else {
+                    int slot = WallSlot.of(random.nextInt(size - 1), random.nextInt(size - 1), random.nextBoolean());
+                    BarrierResult result = player.checkBarrierPlacement(slot, compact.getBoard(), compact.getPlayers());
+                    if (result == BarrierResult.VALID || result == BarrierResult.CUTS_PATH) {
+                        assertEquals(keepsEveryPath(compact.getBoard(), slot, compact.getPlayers()), result == BarrierResult.VALID, "barrier " + slot + " on " + size);
+                    }
+
+                    assertEquals(result, player.tryPlaceBarrier(slot, compact.getBoard(), compact.getPlayers()));
+                    assertEquals(result, adjacency.getPlayers().get(index).tryPlaceBarrier(slot, adjacency.getBoard(), adjacency.getPlayers()));
+                    if (result.isValid()) {
+                        compact.turnCountIncrement();
+                        adjacency.turnCountIncrement();
+                    }
+                }
+
+                assertArrayEquals(compact.getBoard().getWallSlots(), adjacency.getBoard().getWallSlots());
+                assertEquals(compact.getZobristHash(), adjacency.getZobristHash());
+            }
+        }
+    }
+
+    /**
+     * The checks of the barriers write a barrier for a moment to search for the paths, and must leave the weights of the terrain as they found them,
+     * in both layouts: the cost of every move must be the same after checking every barrier one by one and all at once,
+     * and the checks must give the same answers as on a board without terrain, since a barrier blocks whatever the weight under it.
+     * @throws Exception if a board can't be built.
+     */
+    @Test
+    void barrierChecksKeepTheTerrain() throws Exception {
+        Random random = new Random(21);
+
+        for (int round = 0; round < 40; round++) {
+            for (GraphLayout layout : GraphLayout.values()) {
+                Game plain = new Game();
+                plain.initGame(2, 8);
+                Game weighted = copyOf(plain, layout);
+                Board board = weighted.getBoard();
+                board.setEdgeWeight(6, 3, Direction.SOUTH, 7);
+                for (int y = 0; y < 8; y++) {
+                    for (int x = 0; x < 8; x++) {
+                        if (y < 7 && random.nextInt(3) == 0) board.setEdgeWeight(x, y, Direction.SOUTH, 2 + random.nextInt(9));
+                        if (x < 7 && random.nextInt(3) == 0) board.setEdgeWeight(x, y, Direction.EAST, 2 + random.nextInt(9));
+                    }
+                }
+
+                // A few barriers first, so that some of the checks close a loop and have to search
+                for (int placed = 0; placed < 8; placed++) {
+                    int slot = WallSlot.of(random.nextInt(7), random.nextInt(7), random.nextBoolean());
+                    BarrierResult result = plain.getPlayers().get(placed % 2).tryPlaceBarrier(slot, plain.getBoard(), plain.getPlayers());
+                    assertEquals(result, weighted.getPlayers().get(placed % 2).tryPlaceBarrier(slot, board, weighted.getPlayers()));
+                }
+                int[] costs = moveCosts(board);
+
+                Player player = weighted.getPlayers().get(0);
+                long[] candidates = new long[1];
+                for (int y = 0; y < 7; y++) {
+                    for (int x = 0; x < 7; x++) {
+                        for (boolean horizontal : new boolean[]{true, false}) {
+                            int slot = WallSlot.of(x, y, horizontal);
+                            BarrierResult result = player.checkBarrierPlacement(slot, board, weighted.getPlayers());
+                            assertEquals(plain.getPlayers().get(0).checkBarrierPlacement(slot, plain.getBoard(), plain.getPlayers()), result, "barrier " + slot + " on " + layout);
+                            if (horizontal && result != BarrierResult.OVERLAP && result != BarrierResult.CROSSING) candidates[0] |= 1L << (y * 7 + x);
+                        }
+                    }
+                }
+                assertArrayEquals(costs, moveCosts(board), "costs after the checks one by one on " + layout);
+
+                long[] kept = board.filterBarriersKeepingPaths(candidates, true, weighted.getPlayers());
+                assertArrayEquals(plain.getBoard().filterBarriersKeepingPaths(candidates, true, plain.getPlayers()), kept);
+                assertArrayEquals(costs, moveCosts(board), "costs after the checks all at once on " + layout);
+            }
+        }
+    }
+
+    /**
+     * Gives the cost of the move leaving every cell of a board in every direction.
+     * @param board the board.
+     * @return the cost at index i*4 + d.ordinal(), see {@link Board#getMoveCost(int, int, Direction)}.
+     */
+    private static int[] moveCosts(Board board) {
+        int size = board.getSize();
+        int[] costs = new int[size * size * 4];
+        for (int index = 0; index < size * size; index++) {
+            for (Direction direction : DIRECTIONS) {
+                costs[index * 4 + direction.ordinal()] = board.getMoveCost(index % size, index / size, direction);
+            }
+        }
+        return costs;
+    }
+
+    /**
+     * Gives a copy of a game just initialized, whose board has another layout.
+     * @param game   the game to copy.
+     * @param layout layout of the board of the copy.
+     * @return a game with the same players, on the same cells.
+     * @throws Exception if the board can't be built.
+     */
+    private static Game copyOf(Game game, GraphLayout layout) throws Exception {
+        Game copy = new Game();
+        Board board = new Board(game.getBoard().getSize(), layout);
+        board.initializeGraph();
+        copy.setBoard(board);
+
+        for (Player player : game.getPlayers()) {
+            Player twin = new Player(player.getName(), player.getColor());
+            twin.setPosition(player.getPosition());
+            board.movePawn(twin.getColor(), null, twin.getPosition());
+            copy.addPlayer(twin);
+        }
+
+        copy.setTurnCount(game.getTurnCount());
+        return copy;
+    }
+
+    /**
+     * Checks with a breadth-first search from every player if a barrier would leave every player a path, without placing it.
+     * @param board   the board.
+     * @param slot    the slot of the barrier, inside the board.
+     * @param players the list of players.
+     * @return true if every player would still have a path.
+     */
+    private static boolean keepsEveryPath(Board board, int slot, List<Player> players) {
+        int size = board.getSize();
+        int x = WallSlot.getX(slot);
+        int y = WallSlot.getY(slot);
+        int first = y * size + x;
+        int second = WallSlot.isHorizontal(slot) ? first + 1 : first + size;
+        Direction side = WallSlot.getSide(slot);
+
+        for (Player player : players) {
+            boolean[] seen = new boolean[size * size];
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(player.getPosition().toAdjacencyListIndex(size));
+            seen[queue.peek()] = true;
+            boolean reached = false;
+
+            while (!queue.isEmpty() && !reached) {
+                int cell = queue.poll();
+                int cellX = cell % size;
+                int cellY = cell / size;
+                reached = DistanceService.isGoal(cellX, cellY, size, player.getColor());
+
+                for (Direction direction : DIRECTIONS) {
+                    int next = (cellY + direction.getYOffset()) * size + cellX + direction.getXOffset();
+                    if (board.isBlocked(cellX, cellY, direction) || seen[next] || crosses(cell, next, first, second, side, size)) continue;
+                    seen[next] = true;
+                    queue.add(next);
+                }
+            }
+
+            if (!reached) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if a step from a cell to its neighbour goes through the barrier not placed yet.
+     * @param cell   the cell left.
+     * @param next   the neighbour reached.
+     * @param first  first cell of the barrier, whose side is blocked.
+     * @param second second cell of the barrier, whose side is blocked.
+     * @param side   side of both cells on which the barrier is.
+     * @param size   size of the board.
+     * @return true if the step goes through the barrier.
+     */
+    private static boolean crosses(int cell, int next, int first, int second, Direction side, int size) {
+        int offset = side.getYOffset() * size + side.getXOffset();
+        for (int blocked : Arrays.asList(first, second)) {
+            if ((cell == blocked && next == blocked + offset) || (next == blocked && cell == blocked + offset)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,252 @@
+package gameObjects;
+
+import enumeration.Color;
+import enumeration.Direction;
+import enumeration.Symmetry;
+import graph.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link CanonicalForm} merges the states that only differ by a symmetry keeping the order of the turns, and only them.
+ */
+class CanonicalFormTest {
+
+    /**
+     * Random states of 2 player games must have the same canonical form and key as their left-right mirror, their top-bottom mirror
+     * and their half turn, whose colours are swapped. With the other player to move, the state must only keep its canonical form
+     * if it is the image of the first one, like the start of the game.
+     * @throws Exception if a game can't be built.
+     */
+    @Test
+    void twoPlayerSymmetriesMerge() throws Exception {
+        Random random = new Random(14);
+        int different = 0;
+
+        for (int round = 0; round < 100; round++) {
+            Game game = randomGame(2, 5 + random.nextInt(5), random);
+            CanonicalForm form = CanonicalForm.of(game);
+
+            Set<Symmetry> merged = EnumSet.noneOf(Symmetry.class);
+            for (Symmetry symmetry : Symmetry.values()) {
+                Game image = imageOf(game, symmetry);
+                if (image == null) continue;
+
+                CanonicalForm imageForm = CanonicalForm.of(image);
+                assertEquals(form, imageForm, symmetry + " of " + GameState.of(game));
+                assertEquals(form.getKey(), imageForm.getKey(), symmetry.toString());
+                merged.add(symmetry);
+            }
+            assertEquals(EnumSet.of(Symmetry.IDENTITY, Symmetry.MIRROR_X, Symmetry.MIRROR_Y, Symmetry.ROTATE_180), merged);
+
+            Game passed = imageOf(game, Symmetry.IDENTITY);
+            passed.turnCountIncrement();
+            boolean isSame = isImage(passed, game);
+            assertEquals(isSame, form.equals(CanonicalForm.of(passed)), GameState.of(game).toString());
+            if (!isSame) different++;
+        }
+
+        assertTrue(different > 50, different + " different");
+    }
+
+    /**
+     * In 4 player games, a state and its image must only be merged by the symmetries keeping who plays after whom:
+     * the image by any other symmetry is another game, which must get another canonical form unless it is also the image by a symmetry that counts.
+     * @throws Exception if a game can't be built.
+     */
+    @Test
+    void fourPlayerSymmetriesKeepTheTurns() throws Exception {
+        Random random = new Random(41);
+        int different = 0;
+
+        for (int round = 0; round < 100; round++) {
+            Game game = randomGame(4, 5 + random.nextInt(5), random);
+            CanonicalForm form = CanonicalForm.of(game);
+
+            for (Symmetry symmetry : Symmetry.values()) {
+                CanonicalForm imageForm = CanonicalForm.of(imageOf(game, symmetry));
+                if (keepsTheTurns(symmetry, game.getPlayers())) {
+                    assertEquals(form, imageForm, symmetry.toString());
+                    assertEquals(form.getKey(), imageForm.getKey(), symmetry.toString());
+                } else {
+                    boolean isSame = isImage(imageOf(game, symmetry), game);
+                    assertEquals(isSame, form.equals(imageForm), symmetry.toString());
+                    if (!isSame) different++;
+                }
+            }
+        }
+        assertTrue(different > 300, different + " different");
+
+        // Only the swap of x and y keeps Yellow, Blue, Red, Green in this order
+        Game game = new Game();
+        game.initGame(4, 9);
+        for (Symmetry symmetry : Symmetry.values()) {
+            boolean isKept = symmetry == Symmetry.IDENTITY || symmetry == Symmetry.TRANSPOSE;
+            assertEquals(isKept, keepsTheTurns(symmetry, game.getPlayers()), symmetry.toString());
+        }
+    }
+
+    /**
+     * The canonical form must be the image of the state by the symmetry it reports, and the methods going back to the game must undo this symmetry,
+     * for the Positions, the directions and the players.
+     * @throws Exception if a game can't be built.
+     */
+    @Test
+    void toOriginalInvertsTheSymmetry() throws Exception {
+        Random random = new Random(15);
+
+        for (int round = 0; round < 100; round++) {
+            int size = 5 + random.nextInt(5);
+            Game game = randomGame(random.nextBoolean() ? 2 : 4, size, random);
+            CanonicalForm form = CanonicalForm.of(game);
+            Symmetry symmetry = form.getSymmetry();
+
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    Position image = Position.of(symmetry.mapX(x, y, size), symmetry.mapY(x, y, size), size);
+                    assertSame(Position.of(x, y, size), form.toOriginal(image), symmetry + " " + x + "," + y);
+
+                    for (Direction direction : new Direction[]{Direction.SOUTH, Direction.EAST}) {
+                        boolean isWall = game.getBoard().getWalls().isWall(x, y, direction);
+                        assertEquals(isWall, form.getWalls().isWall(image.getX(), image.getY(), symmetry.map(direction)), symmetry + " " + x + "," + y);
+                    }
+                }
+            }
+
+            for (Direction direction : Direction.values()) {
+                assertEquals(direction, form.toOriginal(symmetry.map(direction)), symmetry.toString());
+            }
+
+            List<Player> players = game.getPlayers();
+            for (int i = 0; i < players.size(); i++) {
+                Position position = players.get(i).getPosition();
+                int image = symmetry.mapY(position.getX(), position.getY(), size) * size + symmetry.mapX(position.getX(), position.getY(), size);
+                assertEquals(image, form.getCell(form.toCanonicalPlayer(i)), symmetry + " player " + i);
+                assertEquals(i, form.toOriginalPlayer(form.toCanonicalPlayer(i)));
+            }
+            assertEquals(form.toCanonicalPlayer(game.getCurrentPlayerTurn()), form.getCurrentPlayerTurn());
+        }
+    }
+
+    /**
+     * Plays random moves and barriers on a new game.
+     * @param playerCount number of players.
+     * @param size        size of the board.
+     * @param random      the source of randomness.
+     * @return the game.
+     * @throws Exception if the game can't be built.
+     */
+    private static Game randomGame(int playerCount, int size, Random random) throws Exception {
+        Game game = new Game();
+        game.initGame(playerCount, size);
+        int[] moves = new int[Player.MAX_MOVES];
+
+        for (int turn = random.nextInt(30); turn > 0 && game.checkVictory() == null; turn--) {
+            int index = game.getCurrentPlayerTurn();
+            int count = game.getPlayers().get(index).legalMoves(game.getBoard(), moves);
+            if (count > 0 && random.nextBoolean()) {
+                int cell = moves[random.nextInt(count)];
+                game.apply(new Move(index, Position.of(cell % size, cell / size, size)));
+            } else {
+                game.apply(new Move(index, WallSlot.of(random.nextInt(size - 1), random.nextInt(size - 1), random.nextBoolean())));
+            }
+        }
+
+        return game;
+    }
+
+    /**
+     * Builds the image of a game by a symmetry: every barrier and every pawn is moved by the symmetry,
+     * and every pawn is given to the player whose side is the image of the side of its player.
+     * @param game     the game.
+     * @param symmetry the symmetry.
+     * @return the image, or null if a side goes to a colour that isn't in the game.
+     * @throws Exception if the image can't be built.
+     */
+    private static Game imageOf(Game game, Symmetry symmetry) throws Exception {
+        int size = game.getBoard().getSize();
+        List<Player> players = game.getPlayers();
+        Game image = new Game();
+        image.initGame(players.size(), size);
+        Board board = image.getBoard();
+
+        for (int slot : game.getBoard().getWallSlots()) {
+            // A barrier covers the 2x2 block of cells anchored on its slot, whose image is another 2x2 block
+            int x = WallSlot.getX(slot);
+            int y = WallSlot.getY(slot);
+            int newX = Math.min(symmetry.mapX(x, y, size), symmetry.mapX(x + 1, y + 1, size));
+            int newY = Math.min(symmetry.mapY(x, y, size), symmetry.mapY(x + 1, y + 1, size));
+            boolean keepsAxes = symmetry.map(Direction.SOUTH).getXOffset() == 0;
+            board.placeWall(WallSlot.of(newX, newY, WallSlot.isHorizontal(slot) == keepsAxes));
+        }
+
+        int currentPlayerTurn = -1;
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            int twin = indexOf(image.getPlayers(), symmetry.map(player.getColor()));
+            if (twin < 0) return null;
+
+            Player twinPlayer = image.getPlayers().get(twin);
+            Position position = Position.of(symmetry.mapX(player.getPosition().getX(), player.getPosition().getY(), size), symmetry.mapY(player.getPosition().getX(), player.getPosition().getY(), size), size);
+            board.movePawn(twinPlayer.getColor(), twinPlayer.getPosition(), position);
+            twinPlayer.setPosition(position);
+            if (i == game.getCurrentPlayerTurn()) currentPlayerTurn = twin;
+        }
+        image.setTurnCount(currentPlayerTurn);
+
+        return image;
+    }
+
+    /**
+     * Checks if a game is the image of another one by a symmetry keeping the order of the turns.
+     * @param game     the game.
+     * @param original the other game.
+     * @return true if a symmetry that counts gives the same barriers, pawns and player to move.
+     * @throws Exception if an image can't be built.
+     */
+    private static boolean isImage(Game game, Game original) throws Exception {
+        GameState state = GameState.of(imageOf(game, Symmetry.IDENTITY));
+        for (Symmetry symmetry : Symmetry.values()) {
+            if (keepsTheTurns(symmetry, original.getPlayers()) && state.equals(GameState.of(imageOf(original, symmetry)))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the colours given by a symmetry to the players keep the order of the turns, i.e. are the same list up to a rotation.
+     * @param symmetry the symmetry.
+     * @param players  the players, in the order of the turns.
+     * @return true if the player after every player is still the same one once the colours are mapped.
+     */
+    private static boolean keepsTheTurns(Symmetry symmetry, List<Player> players) {
+        int count = players.size();
+        int shift = indexOf(players, symmetry.map(players.get(0).getColor()));
+        if (shift < 0) return false;
+
+        for (int i = 0; i < count; i++) {
+            if (symmetry.map(players.get(i).getColor()) != players.get((i + shift) % count).getColor()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Finds the player of a colour.
+     * @param players the players.
+     * @param color   the colour.
+     * @return the index of the player, or -1 if no player has this colour.
+     */
+    private static int indexOf(List<Player> players, Color color) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getColor() == color) return i;
+        }
+        return -1;
+    }
+}
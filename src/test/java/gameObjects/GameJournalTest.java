@@ -0,0 +1,91 @@
+package gameObjects;
+
+import graph.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that the moves applied to a {@link Game} are undone back to the game it was before them.
+ */
+class GameJournalTest {
+
+    /**
+     * Along random games of moves and barriers, every undo must give back the state, the hash and the legal barriers
+     * the game had before the move undone, until the game is the one it started as.
+     * Moves of the wrong player and moves of pawn without destination must be refused without changing anything.
+     * @throws Exception if a game can't be built.
+     */
+    @Test
+    void undoesBackToTheStart() throws Exception {
+        Random random = new Random(11);
+
+        for (int round = 0; round < 100; round++) {
+            int size = new int[]{3, 5, 7, 9}[random.nextInt(4)];
+            Game game = new Game();
+            game.initGame(random.nextBoolean() ? 2 : 4, size);
+
+            Deque<String> states = new ArrayDeque<>();
+            String start = describe(game);
+            int[] moves = new int[Player.MAX_MOVES];
+
+            for (int turn = 0; turn < 60 && game.checkVictory() == null; turn++) {
+                int index = game.getCurrentPlayerTurn();
+                Player player = game.getPlayers().get(index);
+                String before = describe(game);
+
+                assertFalse(game.apply(new Move(index, (Position) null)));
+                assertFalse(game.apply(new Move((index + 1) % game.getPlayers().size(), WallSlot.of(0, 0, true))));
+                assertEquals(before, describe(game));
+
+                Move move;
+                int count = player.legalMoves(game.getBoard(), moves);
+                if (count > 0 && random.nextInt(3) == 0) {
+                    int cell = moves[random.nextInt(count)];
+                    move = new Move(index, Position.of(cell % size, cell / size, size));
+                } else {
+                    move = new Move(index, WallSlot.of(random.nextInt(size - 1), random.nextInt(size - 1), random.nextBoolean()));
+                }
+
+                if (game.apply(move)) states.push(before);
+                else assertEquals(before, describe(game));
+            }
+
+            while (!states.isEmpty()) {
+                game.undo();
+                assertEquals(states.pop(), describe(game), "undo on " + size);
+            }
+            assertEquals(start, describe(game));
+            assertNull(game.undo());
+        }
+    }
+
+    /**
+     * Describes everything an undo must give back: the state of the game, its hash and the barriers the player to move can place.
+     * @param game the game.
+     * @return the description of the game.
+     * @throws Exception if the state can't be built.
+     */
+    private static String describe(Game game) throws Exception {
+        StringBuilder description = new StringBuilder();
+        description.append(GameState.of(game)).append(' ').append(game.getZobristHash()).append(' ');
+
+        Board board = game.getBoard();
+        Player player = game.getPlayers().get(game.getCurrentPlayerTurn());
+        for (int y = 0; y < board.getSize() - 1; y++) {
+            for (int x = 0; x < board.getSize() - 1; x++) {
+                for (boolean horizontal : new boolean[]{true, false}) {
+                    description.append(player.checkBarrierPlacement(WallSlot.of(x, y, horizontal), board, game.getPlayers()).ordinal());
+                }
+            }
+        }
+
+        return description.toString();
+    }
+}
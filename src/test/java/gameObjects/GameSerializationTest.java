@@ -0,0 +1,92 @@
+package gameObjects;
+
+import enumeration.BarrierResult;
+import enumeration.Direction;
+import enumeration.GraphLayout;
+import enumeration.MoveResult;
+import graph.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that games are loaded back as they were saved, including the saves of the first versions of the game.
+ */
+class GameSerializationTest {
+
+    /**
+     * The save was written by the first version of the game, whose board kept a list of barriers on edges:
+     * on a 9x9 board with 4 players, Yellow moved to (4,1), Blue placed a horizontal barrier on (3,4), Red moved to (1,4),
+     * Green placed a vertical barrier on (6,2) and Yellow a horizontal barrier on (0,7).
+     * It must give the same game as the same moves played now, and the game must go on from there.
+     * @throws Exception if the save can't be read.
+     */
+    @Test
+    void firstVersionSaveLoads() throws Exception {
+        Game loaded;
+        try (InputStream file = GameSerializationTest.class.getResourceAsStream("baseline-game.save");
+             ObjectInputStream in = new ObjectInputStream(file)) {
+            loaded = (Game) in.readObject();
+        }
+
+        Game played = new Game();
+        played.initGame(4, 9);
+        assertTrue(played.apply(new Move(0, Position.of(4, 1, 9))));
+        assertTrue(played.apply(new Move(1, WallSlot.of(3, 4, true))));
+        assertTrue(played.apply(new Move(2, Position.of(1, 4, 9))));
+        assertTrue(played.apply(new Move(3, WallSlot.of(6, 2, false))));
+        assertTrue(played.apply(new Move(0, WallSlot.of(0, 7, true))));
+
+        Board board = loaded.getBoard();
+        assertEquals(GraphLayout.ADJACENCY_LIST, board.getLayout());
+        assertArrayEquals(played.getBoard().getWallSlots(), board.getWallSlots());
+        assertEquals(GameState.of(played), GameState.of(loaded));
+        assertEquals(played.getZobristHash(), loaded.getZobristHash());
+        assertSame(Position.of(4, 1, 9), loaded.getPlayers().get(0).getPosition());
+        assertTrue(board.isBlocked(4, 5, Direction.NORTH));
+        assertEquals(1, board.getNeighbourEdge(4, 5, Direction.NORTH).getWeight());
+
+        // Blue can't cross the barrier of Blue, and his pawn can't go on Yellow
+        Player blue = loaded.getPlayers().get(1);
+        assertEquals(BarrierResult.CROSSING, blue.checkBarrierPlacement(WallSlot.of(3, 4, false), board, loaded.getPlayers()));
+        assertTrue(loaded.apply(new Move(1, Position.of(4, 7, 9))));
+        assertEquals(MoveResult.OCCUPIED, loaded.getPlayers().get(2).checkMove(1, 4, board));
+    }
+
+    /**
+     * A game saved now must be loaded with the same barriers, pawns and hash, and its pawns must still be on the board.
+     * @throws Exception if the game can't be written or read.
+     */
+    @Test
+    void savedGameLoadsBack() throws Exception {
+        Game game = new Game();
+        game.initGame(2, 9);
+        assertTrue(game.apply(new Move(0, Position.of(4, 1, 9))));
+        assertTrue(game.apply(new Move(1, WallSlot.of(3, 1, true))));
+        assertTrue(game.apply(new Move(0, WallSlot.of(5, 6, false))));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(game);
+        }
+        Game loaded;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            loaded = (Game) in.readObject();
+        }
+
+        assertArrayEquals(game.getBoard().getWallSlots(), loaded.getBoard().getWallSlots());
+        assertEquals(GameState.of(game), GameState.of(loaded));
+        assertEquals(game.getZobristHash(), loaded.getZobristHash());
+        assertTrue(loaded.getBoard().isOccupied(Position.of(4, 1, 9).toAdjacencyListIndex(9)));
+        assertEquals(BarrierResult.OVERLAP, loaded.getPlayers().get(1).checkBarrierPlacement(WallSlot.of(3, 1, true), loaded.getBoard(), loaded.getPlayers()));
+    }
+}
@@ -0,0 +1,138 @@
+package gameObjects;
+
+import enumeration.Color;
+import enumeration.MoveType;
+import graph.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a game restored from a {@link GameSnapshot} is the game it was when the snapshot was taken.
+ */
+class GameSnapshotTest {
+
+    /**
+     * Along random games, a snapshot is taken at every turn, sometimes twice in a row, sometimes derived from the previous one with the move played,
+     * and an older one is restored from time to time once later moves are played.
+     * The restored game must have the state, the hash, the barriers, the distances and the legal moves and barriers of a new game on which the same moves are played again,
+     * and it must stay so as the game goes on from there, which writes in a bitboard whose chunks are shared with the snapshots.
+     * @throws Exception if a game can't be built.
+     */
+    @Test
+    void restoredGameMatchesRebuiltGame() throws Exception {
+        Random random = new Random(10);
+
+        for (int round = 0; round < 60; round++) {
+            int size = new int[]{3, 5, 7, 9}[random.nextInt(4)];
+            int playerCount = random.nextBoolean() ? 2 : 4;
+            Game game = new Game();
+            game.initGame(playerCount, size);
+
+            List<Move> played = new ArrayList<>();
+            List<GameSnapshot> snapshots = new ArrayList<>();
+            List<Integer> playedAtSnapshot = new ArrayList<>();
+            int[] moves = new int[Player.MAX_MOVES];
+
+            for (int turn = 0; turn < 80 && game.checkVictory() == null; turn++) {
+                int copies = random.nextInt(4) == 0 ? 2 : 1;
+                for (int copy = 0; copy < copies; copy++) {
+                    snapshots.add(game.snapshot());
+                    playedAtSnapshot.add(played.size());
+                }
+
+                if (random.nextInt(6) == 0) {
+                    int chosen = random.nextInt(snapshots.size());
+                    game.restore(snapshots.get(chosen));
+                    played.subList(playedAtSnapshot.get(chosen), played.size()).clear();
+                    // The later snapshots come after moves that are now forgotten, so they are forgotten too
+                    snapshots.subList(chosen + 1, snapshots.size()).clear();
+                    playedAtSnapshot.subList(chosen + 1, playedAtSnapshot.size()).clear();
+                    assertSameGame(rebuilt(playerCount, size, played), game);
+                    continue;
+                }
+
+                int index = game.getCurrentPlayerTurn();
+                Move move;
+                int count = game.getPlayers().get(index).legalMoves(game.getBoard(), moves);
+                if (count > 0 && random.nextInt(3) == 0) {
+                    int cell = moves[random.nextInt(count)];
+                    move = new Move(index, Position.of(cell % size, cell / size, size));
+                } else {
+                    move = new Move(index, WallSlot.of(random.nextInt(size - 1), random.nextInt(size - 1), random.nextBoolean()));
+                }
+                if (!game.apply(move)) continue;
+                played.add(move);
+
+                // The same move derived from the snapshot taken before it, whose chunks are shared with the board and the other snapshots
+                if (random.nextInt(4) == 0) {
+                    GameSnapshot before = snapshots.get(snapshots.size() - 1);
+                    snapshots.add(move.getType() == MoveType.PAWN ? before.withMove(index, move.getTo()) : before.withBarrier(move.getSlot()));
+                    playedAtSnapshot.add(played.size());
+                }
+            }
+
+            assertSameGame(rebuilt(playerCount, size, played), game);
+        }
+    }
+
+    /**
+     * Builds a new game and plays moves on it.
+     * @param playerCount number of players.
+     * @param size        size of the board.
+     * @param played      the moves to play, all valid.
+     * @return the new game.
+     * @throws Exception if the game can't be built.
+     */
+    private static Game rebuilt(int playerCount, int size, List<Move> played) throws Exception {
+        Game game = new Game();
+        game.initGame(playerCount, size);
+        for (Move move : played) {
+            assertTrue(game.apply(move), "replay of " + move);
+        }
+        return game;
+    }
+
+    /**
+     * Checks that two games are the same, and take the same decisions for every move and barrier.
+     * @param expected the game built from scratch.
+     * @param actual   the restored game.
+     * @throws Exception if the state can't be built.
+     */
+    private static void assertSameGame(Game expected, Game actual) throws Exception {
+        Board expectedBoard = expected.getBoard();
+        Board board = actual.getBoard();
+        int size = board.getSize();
+
+        assertEquals(GameState.of(expected), GameState.of(actual));
+        assertEquals(expected.getZobristHash(), actual.getZobristHash());
+        assertArrayEquals(expectedBoard.getWallSlots(), board.getWallSlots());
+
+        for (Color color : Color.values()) {
+            for (int index = 0; index < size * size; index++) {
+                assertEquals(expectedBoard.getDistanceField(color).getDistance(index), board.getDistanceField(color).getDistance(index), color + " cell " + index);
+            }
+        }
+
+        for (int i = 0; i < actual.getPlayers().size(); i++) {
+            Player expectedPlayer = expected.getPlayers().get(i);
+            Player player = actual.getPlayers().get(i);
+            assertArrayEquals(expectedPlayer.legalMoves(expectedBoard), player.legalMoves(board), "moves of " + player.getColor());
+
+            for (int y = 0; y < size - 1; y++) {
+                for (int x = 0; x < size - 1; x++) {
+                    for (boolean horizontal : new boolean[]{true, false}) {
+                        int slot = WallSlot.of(x, y, horizontal);
+                        assertEquals(expectedPlayer.checkBarrierPlacement(slot, expectedBoard, expected.getPlayers()), player.checkBarrierPlacement(slot, board, actual.getPlayers()), "barrier " + slot);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package gameObjects;
+
+import graph.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Checks that a {@link GameState} unpacked in a game and packed again gives the same state.
+ */
+class GameStateTest {
+
+    /**
+     * Along random games, the game given by the state of a game must give back an equal state with the same hash code,
+     * and must be the same game: the same players with the same names, the same barriers and the same Zobrist hash.
+     * @throws Exception if a game can't be built.
+     */
+    @Test
+    void gameGivesBackTheState() throws Exception {
+        Random random = new Random(24);
+
+        for (int round = 0; round < 200; round++) {
+            int size = round == 0 ? GameState.MAX_SIZE : 3 + random.nextInt(10);
+            Game game = new Game();
+            game.initGame(random.nextBoolean() ? 2 : 4, size);
+            int[] moves = new int[Player.MAX_MOVES];
+
+            for (int turn = random.nextInt(60); turn > 0 && game.checkVictory() == null; turn--) {
+                int index = game.getCurrentPlayerTurn();
+                int count = game.getPlayers().get(index).legalMoves(game.getBoard(), moves);
+                if (count > 0 && random.nextBoolean()) {
+                    int cell = moves[random.nextInt(count)];
+                    game.apply(new Move(index, Position.of(cell % size, cell / size, size)));
+                } else {
+                    game.apply(new Move(index, WallSlot.of(random.nextInt(size - 1), random.nextInt(size - 1), random.nextBoolean())));
+                }
+            }
+
+            GameState state = GameState.of(game);
+            Game unpacked = state.toGame();
+            assertNotNull(unpacked);
+            GameState packed = GameState.of(unpacked);
+            assertEquals(state, packed);
+            assertEquals(state.hashCode(), packed.hashCode());
+
+            assertEquals(game.getZobristHash(), unpacked.getZobristHash());
+            assertEquals(game.getCurrentPlayerTurn(), unpacked.getCurrentPlayerTurn());
+            for (int i = 0; i < game.getPlayers().size(); i++) {
+                Player player = game.getPlayers().get(i);
+                Player twin = unpacked.getPlayers().get(i);
+                assertEquals(player.getName(), twin.getName());
+                assertEquals(player.getColor(), twin.getColor());
+                assertEquals(player.getPosition(), twin.getPosition());
+            }
+
+            // The barriers come back in the order of their slots
+            int[] slots = game.getBoard().getWallSlots();
+            int[] unpackedSlots = unpacked.getBoard().getWallSlots();
+            Arrays.sort(slots);
+            Arrays.sort(unpackedSlots);
+            assertArrayEquals(slots, unpackedSlots);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package gameObjects;
+
+import enumeration.BarrierResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the updates of a {@link LegalBarrierSet} give the same set as a computation from scratch.
+ */
+class LegalBarrierSetTest {
+
+    /**
+     * Along random games with pawn moves, barriers and barriers removed, the set kept by the board must stay equal
+     * to a new set computed on the same board, and to what the checks of the players say.
+     * @throws Exception if a barrier can't be checked.
+     */
+    @Test
+    void updatesMatchFullComputation() throws Exception {
+        Random random = new Random(16);
+
+        for (int round = 0; round < 150; round++) {
+            int size = new int[]{3, 5, 7, 9}[random.nextInt(4)];
+            Game game = new Game();
+            game.initGame(random.nextBoolean() ? 2 : 4, size);
+            Board board = game.getBoard();
+
+            for (int turn = 0; turn < 100 && game.checkVictory() == null; turn++) {
+                Player player = game.getPlayers().get(game.getCurrentPlayerTurn());
+                int action = random.nextInt(10);
+
+                if (action < 4) {
+                    int x = player.getPosition().getX() + random.nextInt(5) - 2;
+                    int y = player.getPosition().getY() + random.nextInt(5) - 2;
+                    if (x < 0 || y < 0 || x >= size || y >= size) continue;
+                    if (player.tryMove(x, y, board).isValid()) game.turnCountIncrement();
+                } else if (action < 9) {
+                    int slot = WallSlot.of(random.nextInt(size - 1), random.nextInt(size - 1), random.nextBoolean());
+                    if (player.tryPlaceBarrier(slot, board, game.getPlayers()).isValid()) game.turnCountIncrement();
+                } else {
+                    board.removeLastBarrier();
+                }
+
+                LegalBarrierSet kept = board.getLegalBarriers(game.getPlayers());
+                LegalBarrierSet fresh = new LegalBarrierSet(size);
+                fresh.update(board, game.getPlayers(), 0, 0);
+
+                for (int y = 0; y < size - 1; y++) {
+                    for (int x = 0; x < size - 1; x++) {
+                        for (boolean horizontal : new boolean[]{true, false}) {
+                            String barrier = (horizontal ? "horizontal " : "vertical ") + x + "," + y + " on " + size;
+                            assertEquals(fresh.isLegal(x, y, horizontal), kept.isLegal(x, y, horizontal), barrier);
+
+                            BarrierResult result = player.checkBarrierPlacement(WallSlot.of(x, y, horizontal), board, game.getPlayers());
+                            if (result != BarrierResult.LIMIT_REACHED) assertEquals(result == BarrierResult.VALID, kept.isLegal(x, y, horizontal), barrier);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package gameObjects;
+
+import enumeration.Direction;
+import enumeration.MoveResult;
+import graph.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the moves given by {@link Player#legalMoves(Board, int[])} against a list of moves written from the rules, cell by cell.
+ */
+class PlayerMovesTest {
+
+    /**
+     * On a 9x9 board with Yellow on (4,4) and Blue below him on (4,5), Yellow can step, jump over Blue,
+     * or go beside Blue once the jump is stopped by a barrier or by Red.
+     * @throws Exception if a game can't be built.
+     */
+    @Test
+    void jumpsAndDiagonals() throws Exception {
+        Game game = pawnsOn(new int[][]{{4, 4}, {4, 5}});
+        Player yellow = game.getPlayers().get(0);
+        assertEquals(cells(9, 4, 3, 5, 4, 4, 6, 3, 4), sorted(yellow.legalMoves(game.getBoard())));
+
+        // The barrier below Blue stops the jump
+        game.getBoard().placeWall(WallSlot.of(4, 5, true));
+        assertEquals(cells(9, 4, 3, 5, 4, 3, 4, 3, 5, 5, 5), sorted(yellow.legalMoves(game.getBoard())));
+
+        // A barrier on the right of Yellow and Blue also closes the step to the right and this diagonal
+        game.getBoard().placeWall(WallSlot.of(4, 4, false));
+        assertEquals(cells(9, 4, 3, 3, 4, 3, 5), sorted(yellow.legalMoves(game.getBoard())));
+
+        // Red below Blue stops the jump as well
+        game = pawnsOn(new int[][]{{4, 4}, {4, 5}, {4, 6}, {0, 0}});
+        yellow = game.getPlayers().get(0);
+        assertEquals(cells(9, 4, 3, 5, 4, 3, 4, 3, 5, 5, 5), sorted(yellow.legalMoves(game.getBoard())));
+
+        // Green on one side of Blue leaves only the other diagonal
+        game = pawnsOn(new int[][]{{4, 4}, {4, 5}, {4, 6}, {5, 5}});
+        yellow = game.getPlayers().get(0);
+        assertEquals(cells(9, 4, 3, 5, 4, 3, 4, 3, 5), sorted(yellow.legalMoves(game.getBoard())));
+
+        // The border behind Blue stops the jump like a barrier
+        game = pawnsOn(new int[][]{{4, 7}, {4, 8}});
+        yellow = game.getPlayers().get(0);
+        assertEquals(cells(9, 4, 6, 3, 7, 5, 7, 3, 8, 5, 8), sorted(yellow.legalMoves(game.getBoard())));
+    }
+
+    /**
+     * On random boards with pawns gathered in a small area and random barriers, the moves must be the ones of the rules,
+     * and a move must be checked as valid exactly when it is one of them.
+     * Every kind of move must be seen many times: steps, straight jumps, and diagonals after a jump stopped by a barrier or by a pawn.
+     * @throws Exception if a game can't be built.
+     */
+    @Test
+    void movesMatchTheRules() throws Exception {
+        Random random = new Random(17);
+        int[] seen = new int[4];
+
+        for (int round = 0; round < 2000; round++) {
+            int size = 3 + random.nextInt(7);
+            Game game = new Game();
+            game.initGame(4, size);
+            Board board = game.getBoard();
+            List<Player> players = game.getPlayers();
+
+            // The pawns stand close to each other so that they often have to jump
+            int centreX = random.nextInt(size);
+            int centreY = random.nextInt(size);
+            for (Player player : players) {
+                Position position;
+                do {
+                    int x = Math.min(size - 1, Math.max(0, centreX + random.nextInt(3) - 1));
+                    int y = Math.min(size - 1, Math.max(0, centreY + random.nextInt(3) - 1));
+                    position = Position.of(x, y, size);
+                } while (board.isOccupied(position.toAdjacencyListIndex(size)) && !position.equals(player.getPosition()));
+                board.movePawn(player.getColor(), player.getPosition(), position);
+                player.setPosition(position);
+            }
+
+            for (int barrier = random.nextInt(2 * size); barrier > 0; barrier--) {
+                players.get(0).tryPlaceBarrier(WallSlot.of(random.nextInt(size - 1), random.nextInt(size - 1), random.nextBoolean()), board, players);
+            }
+
+            for (Player player : players) {
+                TreeSet<Integer> expected = expectedMoves(player, board, players, seen);
+                assertEquals(expected.toString(), sorted(player.legalMoves(board)).toString(), player.getColor() + " on " + GameState.of(game));
+
+                for (int index = 0; index < size * size; index++) {
+                    MoveResult result = player.checkMove(index % size, index / size, board);
+                    assertEquals(expected.contains(index), result == MoveResult.VALID, player.getColor() + " to " + index);
+                }
+            }
+        }
+
+        for (int kind = 0; kind < seen.length; kind++) {
+            assertTrue(seen[kind] > 100, "kind " + kind + " seen " + seen[kind] + " times");
+        }
+    }
+
+    /**
+     * Lists the moves of a player from the rules: a step to a free neighbour; a jump over a neighbour pawn if nothing is behind it;
+     * otherwise a step to a free cell beside that pawn, if no barrier is in the way.
+     * The pawns are found from the Positions of the players, the barriers and the border from the board.
+     * @param player  the player.
+     * @param board   the board.
+     * @param players every player.
+     * @param seen    counts of the steps, straight jumps, diagonals after a barrier and diagonals after a pawn, incremented here.
+     * @return the adjacency list index of every destination.
+     */
+    private static TreeSet<Integer> expectedMoves(Player player, Board board, List<Player> players, int[] seen) {
+        int size = board.getSize();
+        int x = player.getPosition().getX();
+        int y = player.getPosition().getY();
+        TreeSet<Integer> moves = new TreeSet<>();
+
+        for (Direction direction : Direction.values()) {
+            int dx = direction.getXOffset();
+            int dy = direction.getYOffset();
+            if (board.isBlocked(x, y, direction)) continue;
+
+            if (!hasPawn(players, x + dx, y + dy)) {
+                moves.add((y + dy) * size + x + dx);
+                seen[0]++;
+                continue;
+            }
+
+            boolean isWallBehind = board.isBlocked(x + dx, y + dy, direction);
+            if (!isWallBehind && !hasPawn(players, x + 2 * dx, y + 2 * dy)) {
+                moves.add((y + 2 * dy) * size + x + 2 * dx);
+                seen[1]++;
+                continue;
+            }
+
+            for (Direction side : Direction.values()) {
+                // Only the two sides across the direction of the jump
+                if (side.getXOffset() * dx + side.getYOffset() * dy != 0) continue;
+                if (board.isBlocked(x + dx, y + dy, side)) continue;
+
+                int diagonalX = x + dx + side.getXOffset();
+                int diagonalY = y + dy + side.getYOffset();
+                if (hasPawn(players, diagonalX, diagonalY)) continue;
+                moves.add(diagonalY * size + diagonalX);
+                seen[isWallBehind ? 2 : 3]++;
+            }
+        }
+
+        return moves;
+    }
+
+    /**
+     * Checks if a pawn stands on a cell.
+     * @param players every player.
+     * @param x       x coordinate of the cell.
+     * @param y       y coordinate of the cell.
+     * @return true if a player is on (x,y).
+     */
+    private static boolean hasPawn(List<Player> players, int x, int y) {
+        for (Player player : players) {
+            if (player.getPosition().getX() == x && player.getPosition().getY() == y) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Builds a 9x9 game whose pawns are on given cells.
+     * @param cells the cell of every player, 2 or 4 of them, in the order of the players.
+     * @return the game.
+     * @throws Exception if the game can't be built.
+     */
+    private static Game pawnsOn(int[][] cells) throws Exception {
+        Game game = new Game();
+        game.initGame(cells.length, 9);
+        for (int i = 0; i < cells.length; i++) {
+            Player player = game.getPlayers().get(i);
+            Position position = Position.of(cells[i][0], cells[i][1], 9);
+            game.getBoard().movePawn(player.getColor(), player.getPosition(), position);
+            player.setPosition(position);
+        }
+        return game;
+    }
+
+    /**
+     * Gives the adjacency list indexes of cells, sorted.
+     * @param size        size of the board.
+     * @param coordinates x and y of every cell, one after the other.
+     * @return the sorted indexes.
+     */
+    private static List<Integer> cells(int size, int... coordinates) {
+        Integer[] indexes = new Integer[coordinates.length / 2];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = coordinates[2 * i + 1] * size + coordinates[2 * i];
+        }
+        Arrays.sort(indexes);
+        return Arrays.asList(indexes);
+    }
+
+    /**
+     * Sorts the moves given by a player.
+     * @param moves the adjacency list indexes of the destinations.
+     * @return the sorted indexes.
+     */
+    private static List<Integer> sorted(int[] moves) {
+        return Arrays.stream(moves).sorted().boxed().toList();
+    }
+}
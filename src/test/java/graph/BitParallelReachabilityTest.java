@@ -0,0 +1,53 @@
+package graph;
+
+import enumeration.Color;
+import enumeration.Direction;
+import gameObjects.Board;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the floods of {@link BitParallelReachability} against a Breadth First Search.
+ */
+class BitParallelReachabilityTest {
+
+    /**
+     * On random walls, which don't have to form barriers, a cell must be flooded exactly when the search from the side reaches it,
+     * up to the biggest board a row of which fits in a long.
+     * @throws Exception if a board can't be built.
+     */
+    @Test
+    void floodMatchesBreadthFirstSearch() throws Exception {
+        Random random = new Random(8);
+        int[] sizes = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 31, 32, 33, 63, 64};
+
+        for (int size : sizes) {
+            for (int round = 0; round < (size <= 12 ? 40 : 5); round++) {
+                Board board = new Board(size);
+                board.initializeGraph();
+
+                // From open boards to boards walled almost everywhere
+                int density = random.nextInt(60);
+                for (int y = 0; y < size; y++) {
+                    for (int x = 0; x < size; x++) {
+                        if (y < size - 1 && random.nextInt(100) < density) board.setWall(x, y, Direction.SOUTH, true);
+                        if (x < size - 1 && random.nextInt(100) < density) board.setWall(x, y, Direction.EAST, true);
+                    }
+                }
+
+                for (Color color : Color.values()) {
+                    int[] distances = DistanceFieldTest.distancesToSide(board, color);
+                    long[] flood = BitParallelReachability.flood(board.getWalls(), color);
+
+                    for (int index = 0; index < size * size; index++) {
+                        boolean isFlooded = (flood[index / size] & (1L << (index % size))) != 0;
+                        assertEquals(distances[index] != DistanceService.UNREACHABLE, isFlooded, color + " cell " + index + " on " + size);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package graph;
+
+import enumeration.Color;
+import enumeration.Direction;
+import gameObjects.Board;
+import gameObjects.WallSlot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the answers of {@link BridgeIndex} against a Breadth First Search run once the barrier is placed.
+ */
+class BridgeIndexTest {
+
+    /**
+     * Along random sequences of barriers, a cell the index says can't be cut by a barrier must still reach its side once the barrier is placed.
+     * The index must also answer so for most cells, otherwise it would never save a search.
+     * @throws Exception if a board can't be built.
+     */
+    @Test
+    void uncutCellsKeepTheirPath() throws Exception {
+        Random random = new Random(6);
+        int checked = 0;
+        int skipped = 0;
+
+        for (int size = 2; size <= 11; size++) {
+            for (int round = 0; round < 20; round++) {
+                Board board = new Board(size);
+                board.initializeGraph();
+
+                for (int step = 0; step < 2 * size * size; step++) {
+                    int slot = WallSlot.of(random.nextInt(size - 1), random.nextInt(size - 1), random.nextBoolean());
+                    if (!DistanceFieldTest.isFree(board, slot)) continue;
+
+                    int x = WallSlot.getX(slot);
+                    int y = WallSlot.getY(slot);
+                    Direction side = WallSlot.getSide(slot);
+                    int slot1 = BridgeIndex.edgeSlot(x, y, side, size);
+                    int slot2 = WallSlot.isHorizontal(slot) ? BridgeIndex.edgeSlot(x + 1, y, side, size) : BridgeIndex.edgeSlot(x, y + 1, side, size);
+
+                    Color[] colors = Color.values();
+                    boolean[][] canCut = new boolean[colors.length][size * size];
+                    for (Color color : colors) {
+                        BridgeIndex index = board.getBridgeIndex(color);
+                        for (int cell = 0; cell < size * size; cell++) {
+                            canCut[color.ordinal()][cell] = index.canCut(slot1, slot2, cell);
+                        }
+                    }
+
+                    board.placeWall(slot);
+                    for (Color color : colors) {
+                        int[] distances = DistanceFieldTest.distancesToSide(board, color);
+                        for (int cell = 0; cell < size * size; cell++) {
+                            checked++;
+                            if (canCut[color.ordinal()][cell]) continue;
+
+                            skipped++;
+                            assertFalse(distances[cell] == DistanceService.UNREACHABLE, color + " cell " + cell + " cut by " + slot + " on " + size);
+                        }
+                    }
+
+                    // Half of the barriers stay, so the next ones are checked on boards with more and more barriers
+                    if (random.nextBoolean()) board.removeLastBarrier();
+                }
+            }
+        }
+
+        assertTrue(skipped > checked / 2, skipped + " of " + checked);
+    }
+}
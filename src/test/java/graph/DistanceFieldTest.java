@@ -0,0 +1,110 @@
+package graph;
+
+import enumeration.Color;
+import enumeration.Direction;
+import gameObjects.Board;
+import gameObjects.WallSlot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the repairs of {@link DistanceField} against a Breadth First Search run again from scratch.
+ */
+class DistanceFieldTest {
+
+    /**
+     * Every direction, in the order of their ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * After every barrier added or removed, the fields kept up to date by the board must give the distance of every cell,
+     * including the cells closed in a region with no way out.
+     * @throws Exception if a board can't be built.
+     */
+    @Test
+    void repairsMatchBreadthFirstSearch() throws Exception {
+        Random random = new Random(5);
+
+        for (int size = 2; size <= 11; size++) {
+            for (int round = 0; round < 20; round++) {
+                Board board = new Board(size);
+                board.initializeGraph();
+                for (Color color : Color.values()) {
+                    board.getDistanceField(color);
+                }
+
+                for (int step = 0; step < 3 * size * size; step++) {
+                    if (board.getBarrierCount() > 0 && random.nextInt(4) == 0) {
+                        board.removeLastBarrier();
+                    } else {
+                        int slot = WallSlot.of(random.nextInt(size - 1), random.nextInt(size - 1), random.nextBoolean());
+                        if (!isFree(board, slot)) continue;
+                        board.placeWall(slot);
+                    }
+
+                    for (Color color : Color.values()) {
+                        int[] expected = distancesToSide(board, color);
+                        DistanceField field = board.getDistanceField(color);
+                        for (int index = 0; index < size * size; index++) {
+                            assertEquals(expected[index], field.getDistance(index), color + " cell " + index + " on " + size);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if a barrier can be placed without overlapping or crossing another one, whether it cuts a path or not.
+     * @param board the board.
+     * @param slot  the slot of the barrier, inside the board.
+     * @return true if both sides and the centre of the barrier are free.
+     */
+    static boolean isFree(Board board, int slot) {
+        int x = WallSlot.getX(slot);
+        int y = WallSlot.getY(slot);
+        Direction side = WallSlot.getSide(slot);
+        boolean isSecondSideWall = WallSlot.isHorizontal(slot) ? board.isBlocked(x + 1, y, side) : board.isBlocked(x, y + 1, side);
+        return !board.isBlocked(x, y, side) && !isSecondSideWall && board.getWallCentre(x, y) == null;
+    }
+
+    /**
+     * Computes the distance of every cell to the side of a color with a Breadth First Search starting from every cell of the side.
+     * @param graph the graph.
+     * @param color color of the player.
+     * @return the distance of every cell, or {@link DistanceService#UNREACHABLE} if it can't reach the side.
+     */
+    static int[] distancesToSide(EdgeWeightedGraph graph, Color color) {
+        int size = graph.getSize();
+        int[] distances = new int[size * size];
+        Arrays.fill(distances, DistanceService.UNREACHABLE);
+        int[] queue = new int[size * size];
+        int tail = 0;
+
+        for (int index = 0; index < size * size; index++) {
+            if (DistanceService.isGoal(index % size, index / size, size, color)) {
+                distances[index] = 0;
+                queue[tail++] = index;
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            int index = queue[head];
+            for (Direction direction : DIRECTIONS) {
+                if (graph.isBlocked(index % size, index / size, direction)) continue;
+
+                int next = index + direction.getYOffset() * size + direction.getXOffset();
+                if (distances[next] != DistanceService.UNREACHABLE) continue;
+                distances[next] = distances[index] + 1;
+                queue[tail++] = next;
+            }
+        }
+
+        return distances;
+    }
+}
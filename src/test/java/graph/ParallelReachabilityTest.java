@@ -0,0 +1,153 @@
+package graph;
+
+import enumeration.Color;
+import enumeration.Direction;
+import gameObjects.Board;
+import gameObjects.Game;
+import gameObjects.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the masks of {@link ParallelReachability} against a Breadth First Search, on boards too big to be flooded row by row.
+ */
+class ParallelReachabilityTest {
+
+    /**
+     * Every direction, in the order of their ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * On a 101x101 board with 4 players on random cells and random walls, with or without a player walled in his cell,
+     * the mask must be complete exactly when every player has a path, a player without a path must never have his bit,
+     * and the mask of the searches run one after the other must be the one of the Breadth First Search.
+     * @throws Exception if a Position can't be built.
+     */
+    @Test
+    void maskMatchesBreadthFirstSearch() throws Exception {
+        Random random = new Random(15);
+        int size = 101;
+        int blockedRounds = 0;
+
+        for (int round = 0; round < 40; round++) {
+            Game game = new Game();
+            game.initGame(4, size);
+            Board board = game.getBoard();
+            List<Player> players = game.getPlayers();
+            assertFalse(BitParallelReachability.supports(size));
+
+            for (Player player : players) {
+                Position position = Position.of(random.nextInt(size), random.nextInt(size), size);
+                board.movePawn(player.getColor(), player.getPosition(), position);
+                player.setPosition(position);
+            }
+
+            // Walls spread enough to leave most players a path, which don't have to form barriers
+            int density = random.nextInt(40);
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    if (y < size - 1 && random.nextInt(100) < density) board.setWall(x, y, Direction.SOUTH, true);
+                    if (x < size - 1 && random.nextInt(100) < density) board.setWall(x, y, Direction.EAST, true);
+                }
+            }
+
+            // Half of the time, a player is walled in his cell
+            if (random.nextBoolean()) {
+                Position walled = players.get(random.nextInt(players.size())).getPosition();
+                for (Direction direction : DIRECTIONS) {
+                    if (!board.isBlocked(walled.getX(), walled.getY(), direction)) board.setWall(walled.getX(), walled.getY(), direction, true);
+                }
+            }
+
+            int expected = 0;
+            for (int i = 0; i < players.size(); i++) {
+                Player player = players.get(i);
+                int[] distances = DistanceFieldTest.distancesToSide(board, player.getColor());
+                if (distances[player.getPosition().toAdjacencyListIndex(size)] != DistanceService.UNREACHABLE) expected |= 1 << i;
+            }
+
+            int full = (1 << players.size()) - 1;
+            int mask = ParallelReachability.reachableMask(board, players);
+            assertEquals(expected == full, mask == full, "round " + round);
+            assertEquals(0, mask & ~expected, "round " + round);
+            assertEquals(expected, board.reachablePlayersMask(players, false), "round " + round);
+            if (expected != full) blockedRounds++;
+        }
+
+        assertTrue(blockedRounds > 10 && blockedRounds < 30, blockedRounds + " rounds with a player blocked");
+    }
+
+    /**
+     * The mask must name every player when nobody is walled in, and leave out only the player walled in otherwise, whatever his place in the list.
+     * @throws Exception if a Position can't be built.
+     */
+    @Test
+    void walledPlayerIsFound() throws Exception {
+        int size = 101;
+
+        for (int walled = -1; walled < 4; walled++) {
+            Game game = new Game();
+            game.initGame(4, size);
+            Board board = game.getBoard();
+            List<Player> players = game.getPlayers();
+
+            if (walled >= 0) {
+                // A box of barriers two cells around the pawn, closed by the border of the board on the side of the pawn
+                Position position = players.get(walled).getPosition();
+                for (int offset = -2; offset <= 2; offset++) {
+                    wallAround(board, position, offset);
+                }
+            }
+
+            int mask = ParallelReachability.reachableMask(board, players);
+            for (int i = 0; i < players.size(); i++) {
+                Color color = players.get(i).getColor();
+                if (i == walled) assertEquals(0, mask & (1 << i), color + " walled");
+                else if (walled < 0) assertEquals(1 << i, mask & (1 << i), color + " free");
+            }
+            assertEquals(walled < 0 ? 15 : 15 & ~(1 << walled), board.reachablePlayersMask(players, false));
+        }
+    }
+
+    /**
+     * Places one cell of a box of barriers around a pawn starting on the middle of a side of the board.
+     * The box goes two cells away from the pawn, towards the middle of the board and along the side.
+     * @param board    the board.
+     * @param position Position of the pawn.
+     * @param offset   place of the cell along the side, from -2 to 2.
+     */
+    private static void wallAround(Board board, Position position, int offset) {
+        int size = board.getSize();
+        int x = position.getX();
+        int y = position.getY();
+
+        if (y == 0 || y == size - 1) {
+            // The pawn is on the top or bottom side: the box is closed by a row and two columns
+            int rowY = y == 0 ? 2 : size - 3;
+            Direction inward = y == 0 ? Direction.SOUTH : Direction.NORTH;
+            board.setWall(x + offset, rowY, inward, true);
+            if (Math.abs(offset) == 2) {
+                for (int row = Math.min(y, rowY); row <= Math.max(y, rowY); row++) {
+                    board.setWall(x + offset, row, offset < 0 ? Direction.WEST : Direction.EAST, true);
+                }
+            }
+        } else {
+            // The pawn is on the left or right side: the box is closed by a column and two rows
+            int columnX = x == 0 ? 2 : size - 3;
+            Direction inward = x == 0 ? Direction.EAST : Direction.WEST;
+            board.setWall(columnX, y + offset, inward, true);
+            if (Math.abs(offset) == 2) {
+                for (int column = Math.min(x, columnX); column <= Math.max(x, columnX); column++) {
+                    board.setWall(column, y + offset, offset < 0 ? Direction.NORTH : Direction.SOUTH, true);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package graph;
+
+import enumeration.Direction;
+import gameObjects.Board;
+import gameObjects.WallSlot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the answers of {@link WallChainTracker} against a count of the regions of the board.
+ */
+class WallChainTrackerTest {
+
+    /**
+     * Every direction, in the order of their ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Along random sequences of barriers placed and removed, a barrier the tracker says closes no loop must leave the board in as many regions as before,
+     * and the tracker kept by the board, whose merges are undone when barriers are removed, must answer as a tracker built from the barriers left.
+     * @throws Exception if a board can't be built.
+     */
+    @Test
+    void barriersClosingNoLoopSplitNothing() throws Exception {
+        Random random = new Random(7);
+        int checked = 0;
+        int skipped = 0;
+
+        for (int size = 2; size <= 11; size++) {
+            for (int round = 0; round < 20; round++) {
+                Board board = new Board(size);
+                board.initializeGraph();
+
+                for (int step = 0; step < 2 * size * size; step++) {
+                    if (board.getBarrierCount() > 0 && random.nextInt(4) == 0) {
+                        board.removeLastBarrier();
+                        assertSameAnswers(board, rebuilt(board));
+                        continue;
+                    }
+
+                    int slot = WallSlot.of(random.nextInt(size - 1), random.nextInt(size - 1), random.nextBoolean());
+                    if (!DistanceFieldTest.isFree(board, slot)) continue;
+
+                    boolean closesLoop = board.getWallChains().wouldCloseLoop(WallSlot.getX(slot), WallSlot.getY(slot), WallSlot.isHorizontal(slot));
+                    int regions = countRegions(board);
+                    board.placeWall(slot);
+
+                    checked++;
+                    if (closesLoop) continue;
+                    skipped++;
+                    assertEquals(regions, countRegions(board), "barrier " + slot + " on " + size);
+                }
+            }
+        }
+
+        assertTrue(skipped > checked / 2, skipped + " of " + checked);
+    }
+
+    /**
+     * Builds a new tracker from the barriers of a board, in the order they were placed.
+     * @param board the board.
+     * @return the tracker.
+     */
+    private static WallChainTracker rebuilt(Board board) {
+        WallChainTracker tracker = new WallChainTracker(board.getSize());
+        for (int slot : board.getWallSlots()) {
+            tracker.addBarrier(WallSlot.getX(slot), WallSlot.getY(slot), WallSlot.isHorizontal(slot));
+        }
+        return tracker;
+    }
+
+    /**
+     * Checks that the tracker of a board and another tracker answer the same for every barrier.
+     * @param board   the board.
+     * @param tracker the other tracker.
+     */
+    private static void assertSameAnswers(Board board, WallChainTracker tracker) {
+        for (int y = 0; y < board.getSize() - 1; y++) {
+            for (int x = 0; x < board.getSize() - 1; x++) {
+                for (boolean horizontal : new boolean[]{true, false}) {
+                    assertEquals(tracker.wouldCloseLoop(x, y, horizontal), board.getWallChains().wouldCloseLoop(x, y, horizontal), x + "," + y + " " + horizontal);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the regions of the board, the groups of cells that can reach each other.
+     * @param graph the graph.
+     * @return the number of regions.
+     */
+    private static int countRegions(EdgeWeightedGraph graph) {
+        int size = graph.getSize();
+        boolean[] seen = new boolean[size * size];
+        int[] queue = new int[size * size];
+        int regions = 0;
+
+        for (int start = 0; start < size * size; start++) {
+            if (seen[start]) continue;
+            regions++;
+            seen[start] = true;
+            queue[0] = start;
+
+            for (int head = 0, tail = 1; head < tail; head++) {
+                int index = queue[head];
+                for (Direction direction : DIRECTIONS) {
+                    if (graph.isBlocked(index % size, index / size, direction)) continue;
+
+                    int next = index + direction.getYOffset() * size + direction.getXOffset();
+                    if (seen[next]) continue;
+                    seen[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        return regions;
+    }
+}
@@ -0,0 +1,239 @@
+package graph;
+
+import enumeration.Color;
+import enumeration.Direction;
+import enumeration.GraphLayout;
+import gameObjects.Board;
+import gameObjects.Game;
+import gameObjects.Move;
+import gameObjects.WallSlot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the searches of {@link WeightedPathfinder} and the {@link BucketQueue} they use against plain Bellman-Ford relaxations and a PriorityQueue.
+ */
+class WeightedPathfinderTest {
+
+    /**
+     * Every direction, in the order of their ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Dijkstra and A* must give the cost of the cheapest path on random boards with barriers and heavy edges, in both layouts.
+     * @throws Exception if a board can't be built.
+     */
+    @Test
+    void searchesMatchBruteForce() throws Exception {
+        Random random = new Random(13);
+
+        for (int size = 2; size <= 10; size++) {
+            for (int round = 0; round < 30; round++) {
+                for (GraphLayout layout : GraphLayout.values()) {
+                    Board board = new Board(size, layout);
+                    board.initializeGraph();
+                    int[] weights = randomWeights(board, random);
+
+                    for (Color color : Color.values()) {
+                        Position start = Position.of(random.nextInt(size), random.nextInt(size), size);
+                        int[] expected = bellmanFord(weights, size, start.toAdjacencyListIndex(size));
+                        int expectedGoal = DistanceService.UNREACHABLE;
+                        for (int index = 0; index < size * size; index++) {
+                            boolean isCheaper = expectedGoal == DistanceService.UNREACHABLE || expected[index] < expectedGoal;
+                            if (DistanceService.isGoal(index % size, index / size, size, color) && expected[index] != DistanceService.UNREACHABLE && isCheaper) {
+                                expectedGoal = expected[index];
+                            }
+                        }
+
+                        PathResult dijkstra = WeightedPathfinder.dijkstra(board, start, color, true);
+                        assertEquals(expectedGoal, dijkstra.getDistance(), "Dijkstra on " + layout + " " + size);
+                        assertEquals(Arrays.toString(expected), Arrays.toString(dijkstra.getDistances()), "costs on " + layout + " " + size);
+                        assertEquals(expectedGoal, WeightedPathfinder.aStar(board, start, color).getDistance(), "A* on " + layout + " " + size);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Barriers placed on a board with heavy edges and taken back, one by one or by undoing the moves of a game,
+     * must leave Dijkstra and A* the same costs as before, since a barrier is kept apart from the weight of the terrain under it.
+     * @throws Exception if a board can't be built.
+     */
+    @Test
+    void removedBarriersKeepTheTerrain() throws Exception {
+        Random random = new Random(17);
+
+        for (int round = 0; round < 30; round++) {
+            for (GraphLayout layout : GraphLayout.values()) {
+                Board board = new Board(9, layout);
+                board.initializeGraph();
+                heavyTerrain(board, random);
+                String[] costs = costs(board);
+
+                for (int placed = 0; placed < 10; placed++) {
+                    int slot = WallSlot.of(random.nextInt(8), random.nextInt(8), random.nextBoolean());
+                    if (DistanceFieldTest.isFree(board, slot)) board.placeWall(slot);
+                }
+                int[] slots = board.getWallSlots();
+                for (int i = slots.length - 1; i >= 0; i--) {
+                    if (random.nextBoolean()) board.removeLastBarrier();
+                    else board.removeWall(slots[i]);
+                }
+
+                assertEquals(Arrays.toString(costs), Arrays.toString(costs(board)), "costs on " + layout);
+            }
+
+            Game game = new Game();
+            game.initGame(2, 9);
+            heavyTerrain(game.getBoard(), random);
+            String[] costs = costs(game.getBoard());
+
+            for (int turn = 0; turn < 10; turn++) {
+                int slot = WallSlot.of(random.nextInt(8), random.nextInt(8), random.nextBoolean());
+                game.apply(new Move(game.getCurrentPlayerTurn(), slot));
+            }
+            while (game.canUndo()) game.undo();
+
+            assertEquals(Arrays.toString(costs), Arrays.toString(costs(game.getBoard())), "costs after the undos");
+        }
+    }
+
+    /**
+     * The queue must give the entries back in the order of their priorities, whatever the span of the priorities added.
+     */
+    @Test
+    void bucketQueueMatchesPriorityQueue() {
+        Random random = new Random(7);
+
+        for (int round = 0; round < 200; round++) {
+            BucketQueue queue = new BucketQueue(1 + random.nextInt(8));
+            PriorityQueue<Integer> reference = new PriorityQueue<>();
+            int floor = 0;
+
+            for (int step = 0; step < 300; step++) {
+                if (reference.isEmpty() || random.nextInt(3) != 0) {
+                    // The searches never add a priority lower than the last one taken out
+                    int priority = floor + random.nextInt(random.nextBoolean() ? 4 : 600);
+                    queue.add(priority, step);
+                    reference.add(priority);
+                } else {
+                    floor = BucketQueue.priority(queue.poll());
+                    assertEquals(reference.poll(), floor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives a random weight to every edge of a board: mostly free edges, some barriers and some heavy edges.
+     * @param board  the board, whose edges get the weights.
+     * @param random the source of randomness.
+     * @return the weight of the edge leaving every cell in every direction, at index i*4 + d.ordinal(), or -1 on the border.
+     * @throws Exception if a weight is refused.
+     */
+    private static int[] randomWeights(Board board, Random random) throws Exception {
+        int size = board.getSize();
+        int[] weights = new int[size * size * 4];
+        Arrays.fill(weights, -1);
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                for (Direction direction : new Direction[]{Direction.SOUTH, Direction.EAST}) {
+                    Edge edge = board.getNeighbourEdge(x, y, direction);
+                    if (edge == null) continue;
+
+                    int draw = random.nextInt(20);
+                    int weight = draw < 10 ? 0 : draw < 13 ? 1 : 2 + random.nextInt(499);
+                    edge.setBidirectionalEdgeWeight(weight, board);
+
+                    int index = y * size + x;
+                    int target = (y + direction.getYOffset()) * size + x + direction.getXOffset();
+                    weights[index * 4 + direction.ordinal()] = weight;
+                    weights[target * 4 + direction.opposite().ordinal()] = weight;
+                }
+            }
+        }
+
+        return weights;
+    }
+
+    /**
+     * Gives a random terrain to every edge of a board, without any barrier: mostly free edges and some heavy edges.
+     * @param board  the board, whose edges get the weights.
+     * @param random the source of randomness.
+     */
+    private static void heavyTerrain(Board board, Random random) {
+        int size = board.getSize();
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (y < size - 1 && random.nextBoolean()) board.setEdgeWeight(x, y, Direction.SOUTH, 2 + random.nextInt(9));
+                if (x < size - 1 && random.nextBoolean()) board.setEdgeWeight(x, y, Direction.EAST, 2 + random.nextInt(9));
+            }
+        }
+    }
+
+    /**
+     * Runs Dijkstra and A* from every cell of a board to the side of every color.
+     * @param board the board.
+     * @return the costs found by both searches from every cell, for every color.
+     * @throws Exception if a Position can't be built.
+     */
+    private static String[] costs(Board board) throws Exception {
+        int size = board.getSize();
+        Color[] colors = Color.values();
+        String[] costs = new String[size * size * colors.length];
+
+        for (int index = 0; index < size * size; index++) {
+            Position start = Position.of(index % size, index / size, size);
+            for (Color color : colors) {
+                PathResult dijkstra = WeightedPathfinder.dijkstra(board, start, color, true);
+                PathResult aStar = WeightedPathfinder.aStar(board, start, color);
+                costs[index * colors.length + color.ordinal()] = dijkstra.getDistance() + " " + aStar.getDistance() + " " + Arrays.toString(dijkstra.getDistances());
+            }
+        }
+
+        return costs;
+    }
+
+    /**
+     * Computes the cost of the cheapest path from a cell to every cell by relaxing every edge until nothing changes.
+     * @param weights weight of every edge, as given by {@link #randomWeights(Board, Random)}.
+     * @param size    size of the board.
+     * @param start   adjacency list index of the start.
+     * @return the cost of every cell, or {@link DistanceService#UNREACHABLE} if it can't be reached.
+     */
+    private static int[] bellmanFord(int[] weights, int size, int start) {
+        int[] costs = new int[size * size];
+        Arrays.fill(costs, DistanceService.UNREACHABLE);
+        costs[start] = 0;
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int index = 0; index < size * size; index++) {
+                if (costs[index] == DistanceService.UNREACHABLE) continue;
+
+                for (Direction direction : DIRECTIONS) {
+                    int weight = weights[index * 4 + direction.ordinal()];
+                    if (weight < 0 || weight == 1) continue;
+
+                    int target = index + direction.getYOffset() * size + direction.getXOffset();
+                    int cost = costs[index] + (weight == 0 ? 1 : weight);
+                    if (costs[target] == DistanceService.UNREACHABLE || cost < costs[target]) {
+                        costs[target] = cost;
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        return costs;
+    }
+}